@@ -0,0 +1,11 @@
+package ru.clevertec.course.heap;
+
+/**
+ * Priority heap that also gives access to its greatest element, so items can be served from
+ * one end and evicted from the other.
+ */
+public interface DoubleEndedPriorityHeap<T> extends PriorityHeap<T> {
+    T peekMax();
+
+    T pollMax();
+}
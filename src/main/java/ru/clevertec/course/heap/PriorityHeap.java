@@ -1,6 +1,13 @@
 package ru.clevertec.course.heap;
 
 
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface PriorityHeap<T>  {
     boolean add(T entity);
 
@@ -9,5 +16,85 @@ public interface PriorityHeap<T>  {
     T poll();
     int size();
 
+    /**
+     * Removes up to {@code n} elements in priority order and adds them to {@code sink}.
+     *
+     * @return the number of elements moved, {@code 0} if the heap is empty
+     */
+    default int poll(int n, Collection<? super T> sink) {
+        if (n < 0) throw new IllegalArgumentException("Negative count: " + n);
+        int polled = 0;
+        T entity;
+        while (polled < n && (entity = poll()) != null) {
+            sink.add(entity);
+            polled++;
+        }
+        return polled;
+    }
+
+    /**
+     * Removes up to {@code dest.length} elements in priority order into the head of {@code dest}.
+     *
+     * @return the number of elements written, {@code 0} if the heap is empty
+     */
+    default int drainTo(T[] dest) {
+        int polled = 0;
+        T entity;
+        while (polled < dest.length && (entity = poll()) != null) {
+            dest[polled++] = entity;
+        }
+        return polled;
+    }
+
+    /**
+     * Removes the head and inserts {@code entity}, like {@code poll()} followed by
+     * {@code add(entity)} but implementations may do it with a single sift. If a bounded
+     * heap rejects {@code entity}, the head is put back and {@code entity} is returned.
+     *
+     * @return the removed head, or {@code null} if the heap was empty
+     */
+    default T replaceTop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        T top = poll();
+        if (!add(entity)) {
+            if (top != null) {
+                add(top);
+            }
+            return entity;
+        }
+        return top;
+    }
+
+    /**
+     * Inserts {@code entity} and removes the head, like {@code add(entity)} followed by
+     * {@code poll()}. Implementations may return {@code entity} without touching the heap
+     * when it does not come after the current head; so does a bounded heap that rejects it.
+     */
+    default T pushPop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        if (!add(entity)) {
+            return entity;
+        }
+        return poll();
+    }
+
+    /**
+     * Returns a sequential stream that polls elements lazily in priority order, so
+     * {@code limit(k)} removes and costs only {@code k} polls.
+     */
+    default Stream<T> drainingStream() {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(size(),
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                T entity = poll();
+                if (entity == null) {
+                    return false;
+                }
+                action.accept(entity);
+                return true;
+            }
+        }, false);
+    }
 
 }
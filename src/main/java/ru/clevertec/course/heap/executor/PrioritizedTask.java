@@ -0,0 +1,40 @@
+package ru.clevertec.course.heap.executor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Task queued by {@link PriorityExecutorService}. Tasks are ordered by {@link #key()}, the
+ * enqueue time shifted by the priority, and by submission order for equal keys.
+ */
+final class PrioritizedTask<V> extends FutureTask<V> {
+    private final int priority;
+    private final long key;
+    private final long sequence;
+
+    PrioritizedTask(Callable<V> callable, int priority, long key, long sequence) {
+        super(callable);
+        this.priority = priority;
+        this.key = key;
+        this.sequence = sequence;
+    }
+
+    PrioritizedTask(Runnable runnable, V result, int priority, long key, long sequence) {
+        super(runnable, result);
+        this.priority = priority;
+        this.key = key;
+        this.sequence = sequence;
+    }
+
+    int priority() {
+        return priority;
+    }
+
+    long key() {
+        return key;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,364 @@
+package ru.clevertec.course.heap.executor;
+
+import ru.clevertec.course.heap.impl.KeyedPriorityArrayHeap;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executor with a fixed number of workers that runs tasks in priority order, lower
+ * {@code priority} values first.
+ * <p>
+ * Every worker owns a {@link KeyedPriorityArrayHeap}. Tasks submitted from a worker go to
+ * its own heap, other submissions to a random one. A worker takes the better head of its own
+ * heap and one random other heap, so work is stolen both when a worker runs dry and when
+ * another heap holds more urgent work, and falls back to scanning every heap.
+ * <p>
+ * A task is keyed by its enqueue time plus {@code priority * agingQuantum}, so a waiting
+ * task is overtaken by a task whose priority is better by {@code k} only if that task
+ * arrives less than {@code k * agingQuantum} later: every task eventually runs. A zero
+ * quantum gives plain FIFO order.
+ */
+public class PriorityExecutorService extends AbstractExecutorService {
+    public static final int DEFAULT_PRIORITY = 0;
+    private static final Duration DEFAULT_AGING_QUANTUM = Duration.ofMillis(10);
+    private static final Comparator<PrioritizedTask<?>> BY_SEQUENCE =
+            Comparator.comparingLong(PrioritizedTask::sequence);
+    private static final long EMPTY = Long.MAX_VALUE;
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private final Shard[] shards;
+    private final Thread[] workers;
+    private final long agingQuantumNanos;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition workAvailable = idleLock.newCondition();
+    private final CountDownLatch terminated;
+    private final ThreadLocal<Shard> localShard = new ThreadLocal<>();
+    private volatile int idleWorkers;
+    private volatile int state = RUNNING;
+
+    public PriorityExecutorService(int workers) {
+        this(workers, DEFAULT_AGING_QUANTUM, Executors.defaultThreadFactory());
+    }
+
+    public PriorityExecutorService(int workers, Duration agingQuantum, ThreadFactory threadFactory) {
+        if (workers < 1) throw new IllegalArgumentException("Illegal worker count: " + workers);
+        if (agingQuantum.isNegative()) throw new IllegalArgumentException("Negative aging quantum: " + agingQuantum);
+        this.agingQuantumNanos = saturatedNanos(agingQuantum);
+        this.shards = new Shard[workers];
+        this.workers = new Thread[workers];
+        this.terminated = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            shards[i] = new Shard();
+        }
+        for (int i = 0; i < workers; i++) {
+            int index = i;
+            Thread worker = threadFactory.newThread(() -> runWorker(index));
+            if (worker == null) throw new IllegalStateException("Thread factory returned null");
+            this.workers[i] = worker;
+        }
+        for (Thread worker : this.workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Returns a factory of virtual threads for the {@code threadFactory} constructor argument.
+     * The library targets Java 17, so the factory is looked up reflectively.
+     *
+     * @throws UnsupportedOperationException if the running JVM has no virtual threads
+     */
+    public static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available in this JVM", e);
+        }
+    }
+
+    public <T> Future<T> submit(Callable<T> task, int priority) {
+        if (task == null) throw new NullPointerException();
+        PrioritizedTask<T> prioritized = new PrioritizedTask<>(task, priority, key(priority),
+                sequence.getAndIncrement());
+        enqueue(prioritized);
+        return prioritized;
+    }
+
+    public Future<?> submit(Runnable task, int priority) {
+        if (task == null) throw new NullPointerException();
+        PrioritizedTask<Void> prioritized = new PrioritizedTask<>(task, null, priority, key(priority),
+                sequence.getAndIncrement());
+        enqueue(prioritized);
+        return prioritized;
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new PrioritizedTask<>(runnable, value, DEFAULT_PRIORITY, key(DEFAULT_PRIORITY),
+                sequence.getAndIncrement());
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new PrioritizedTask<>(callable, DEFAULT_PRIORITY, key(DEFAULT_PRIORITY),
+                sequence.getAndIncrement());
+    }
+
+    /**
+     * Runs {@code command} with {@link #DEFAULT_PRIORITY}. Like {@code submit}, exceptions
+     * thrown by a plain {@code Runnable} are captured by its task and not rethrown.
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) throw new NullPointerException();
+        if (command instanceof PrioritizedTask<?> task) {
+            enqueue(task);
+        } else {
+            submit(command, DEFAULT_PRIORITY);
+        }
+    }
+
+    private long key(int priority) {
+        long shift;
+        try {
+            shift = Math.multiplyExact(priority, agingQuantumNanos);
+        } catch (ArithmeticException e) {
+            shift = priority < 0 ? Long.MIN_VALUE / 2 : Long.MAX_VALUE / 2;
+        }
+        long now = System.nanoTime();
+        long key = now + shift;
+        if (((now ^ key) & (shift ^ key)) < 0) {
+            key = shift < 0 ? Long.MIN_VALUE : Long.MAX_VALUE - 1;
+        }
+        return key;
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void enqueue(PrioritizedTask<?> task) {
+        queued.incrementAndGet();
+        if (state != RUNNING) {
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        Shard shard = localShard.get();
+        if (shard == null) {
+            shard = shards[ThreadLocalRandom.current().nextInt(shards.length)];
+        }
+        if (!shard.push(task)) {
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        if (idleWorkers > 0) {
+            idleLock.lock();
+            try {
+                workAvailable.signal();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    private void runWorker(int index) {
+        localShard.set(shards[index]);
+        try {
+            while (state != STOP) {
+                PrioritizedTask<?> task = next(index);
+                if (task != null) {
+                    queued.decrementAndGet();
+                    task.run();
+                    if (state != STOP) {
+                        Thread.interrupted();
+                    }
+                } else if (!awaitWork()) {
+                    break;
+                }
+            }
+        } finally {
+            localShard.remove();
+            terminated.countDown();
+        }
+    }
+
+    private PrioritizedTask<?> next(int index) {
+        Shard own = shards[index];
+        if (shards.length > 1) {
+            int other = ThreadLocalRandom.current().nextInt(shards.length - 1);
+            if (other >= index) {
+                other++;
+            }
+            Shard victim = shards[other];
+            Shard best = victim.topKey < own.topKey ? victim : own;
+            if (best.topKey != EMPTY) {
+                PrioritizedTask<?> task = best.poll();
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+        for (int i = 0; i < shards.length; i++) {
+            PrioritizedTask<?> task = shards[(index + i) % shards.length].poll();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parks the calling worker until a task is queued. Returns {@code false} once the worker
+     * should exit: after {@code shutdown} with nothing queued, or after {@code shutdownNow}.
+     */
+    private boolean awaitWork() {
+        idleLock.lock();
+        try {
+            idleWorkers++;
+            try {
+                while (true) {
+                    // state before queued: enqueue counts a task before it checks state
+                    int current = state;
+                    if (queued.get() != 0) {
+                        break;
+                    }
+                    if (current != RUNNING) {
+                        return false;
+                    }
+                    workAvailable.await();
+                }
+            } finally {
+                idleWorkers--;
+            }
+        } catch (InterruptedException e) {
+            // shutdownNow interrupts idle workers; the state check below decides
+        } finally {
+            idleLock.unlock();
+        }
+        return state != STOP;
+    }
+
+    @Override
+    public void shutdown() {
+        if (state == RUNNING) {
+            state = SHUTDOWN;
+        }
+        signalAllWorkers();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        state = STOP;
+        List<Runnable> pending = new ArrayList<>();
+        for (Shard shard : shards) {
+            int drained = shard.close(pending);
+            queued.addAndGet(-drained);
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        signalAllWorkers();
+        return pending;
+    }
+
+    private void signalAllWorkers() {
+        idleLock.lock();
+        try {
+            workAvailable.signalAll();
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final KeyedPriorityArrayHeap<PrioritizedTask<?>> heap =
+                new KeyedPriorityArrayHeap<>(PrioritizedTask::key, BY_SEQUENCE);
+        private volatile long topKey = EMPTY;
+        private boolean closed;
+
+        /**
+         * Returns {@code false} once the shard has been closed by {@code shutdownNow}, so a
+         * submitter that passed the state check concurrently cannot strand its task.
+         */
+        private boolean push(PrioritizedTask<?> task) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                heap.add(task);
+                topKey = heap.peekKey();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private PrioritizedTask<?> poll() {
+            lock.lock();
+            try {
+                PrioritizedTask<?> task = heap.poll();
+                topKey = heap.size() == 0 ? EMPTY : heap.peekKey();
+                return task;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int close(List<Runnable> sink) {
+            lock.lock();
+            try {
+                closed = true;
+                int drained = heap.poll(Integer.MAX_VALUE, sink);
+                topKey = EMPTY;
+                return drained;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+}
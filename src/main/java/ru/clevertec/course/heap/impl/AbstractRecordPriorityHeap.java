@@ -0,0 +1,159 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * Minimal binary heap of fixed-width records kept in a {@link ByteBuffer}. Records start at
+ * {@code baseOffset}, followed by one scratch record used as the hole while sifting.
+ * Subclasses decide where the buffer lives and how it grows.
+ */
+abstract class AbstractRecordPriorityHeap<T> implements PriorityHeap<T> {
+    private final RecordLayout<T> layout;
+    private final RecordKeyExtractor keyExtractor;
+    protected final int recordSize;
+    protected final int baseOffset;
+    protected ByteBuffer heap;
+    protected int capacity;
+    protected int size;
+
+    protected AbstractRecordPriorityHeap(RecordLayout<T> layout, RecordKeyExtractor keyExtractor, int baseOffset) {
+        this.recordSize = layout.recordSize();
+        if (recordSize < 1) throw new IllegalArgumentException("Illegal record size: " + recordSize);
+        this.layout = layout;
+        this.keyExtractor = keyExtractor;
+        this.baseOffset = baseOffset;
+    }
+
+    protected abstract ByteBuffer growBuffer(int newCapacity);
+
+    /** Called before an operation starts moving records. */
+    protected void beforeChange() {
+    }
+
+    protected void sizeChanged() {
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        int i = size;
+        if (i >= capacity) {
+            growHeap(i + 1);
+        }
+        beforeChange();
+        layout.write(heap, scratchOffset(), t);
+        siftUp(i);
+        size = i + 1;
+        sizeChanged();
+        return true;
+    }
+
+    private void growHeap(int oldCapacity) {
+        int newCapacity = (int) Math.min((long) oldCapacity << 1, maxCapacity());
+        if (newCapacity <= capacity) {
+            throw new IllegalStateException("Record heap capacity exceeded: " + capacity);
+        }
+        heap = growBuffer(newCapacity);
+        capacity = newCapacity;
+    }
+
+    protected int maxCapacity() {
+        return (Integer.MAX_VALUE - baseOffset) / recordSize - 1;
+    }
+
+    protected int bufferLength(int capacity) {
+        return baseOffset + (capacity + 1) * recordSize;
+    }
+
+    @Override
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        beforeChange();
+        T entity = layout.read(heap, baseOffset);
+        int lastElementIndex = size - 1;
+        if (lastElementIndex > 0) {
+            copy(lastElementIndex, scratchOffset());
+            siftDown(0, lastElementIndex);
+        }
+        size = lastElementIndex;
+        sizeChanged();
+        return entity;
+    }
+
+    @Override
+    public T peek() {
+        return size == 0 ? null : layout.read(heap, baseOffset);
+    }
+
+    public long peekKey() {
+        if (size == 0) throw new NoSuchElementException();
+        return keyExtractor.key(heap, baseOffset);
+    }
+
+    private int offset(int i) {
+        return baseOffset + i * recordSize;
+    }
+
+    private int scratchOffset() {
+        return offset(capacity);
+    }
+
+    private long key(int i) {
+        return keyExtractor.key(heap, offset(i));
+    }
+
+    private void copy(int from, int toOffset) {
+        heap.put(toOffset, heap, offset(from), recordSize);
+    }
+
+    private void siftDown(int i, int n) {
+        long x = keyExtractor.key(heap, scratchOffset());
+        int half = n >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            long c = key(child);
+            if (right < n) {
+                long r = key(right);
+                if (c > r) {
+                    c = r;
+                    child = right;
+                }
+            }
+            if (x <= c) {
+                break;
+            }
+            copy(child, offset(i));
+            i = child;
+        }
+        heap.put(offset(i), heap, scratchOffset(), recordSize);
+    }
+
+    private void siftUp(int i) {
+        long x = keyExtractor.key(heap, scratchOffset());
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            if (x >= key(parentIndex)) {
+                break;
+            }
+            copy(parentIndex, offset(i));
+            i = parentIndex;
+        }
+        heap.put(offset(i), heap, scratchOffset(), recordSize);
+    }
+
+}
@@ -0,0 +1,248 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, thread-safe priority heap with blocking {@code put}/{@code take} and timed
+ * {@code offer}/{@code poll}. {@link #add} and {@link #poll()} never block: {@code add}
+ * returns {@code false} when the heap is full. Waiting threads are counted, so inserts and
+ * removals only signal a condition when somebody is actually parked on it.
+ */
+public class BlockingPriorityHeap<T> implements PriorityHeap<T> {
+    private final PriorityArrayHeap<T> heap;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private int waitingTakers;
+    private int waitingPutters;
+
+    public BlockingPriorityHeap(int capacity) {
+        this(capacity, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BlockingPriorityHeap(int capacity, Comparator<? super T> comparator) {
+        if (capacity < 1) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.capacity = capacity;
+        this.heap = new PriorityArrayHeap<>(Math.min(capacity, 64), comparator);
+    }
+
+    @Override
+    public boolean add(T t) {
+        return offer(t);
+    }
+
+    public boolean offer(T t) {
+        if (t == null) throw new NullPointerException();
+        lock.lock();
+        try {
+            if (heap.size() == capacity) {
+                return false;
+            }
+            enqueue(t);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedException {
+        if (t == null) throw new NullPointerException();
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() == capacity) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                waitingPutters++;
+                try {
+                    nanos = notFull.awaitNanos(nanos);
+                } finally {
+                    waitingPutters--;
+                }
+            }
+            enqueue(t);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(T t) throws InterruptedException {
+        if (t == null) throw new NullPointerException();
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() == capacity) {
+                waitingPutters++;
+                try {
+                    notFull.await();
+                } finally {
+                    waitingPutters--;
+                }
+            }
+            enqueue(t);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T poll() {
+        lock.lock();
+        try {
+            return heap.size() == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                waitingTakers++;
+                try {
+                    nanos = notEmpty.awaitNanos(nanos);
+                } finally {
+                    waitingTakers--;
+                }
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() == 0) {
+                waitingTakers++;
+                try {
+                    notEmpty.await();
+                } finally {
+                    waitingTakers--;
+                }
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T replaceTop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        lock.lock();
+        try {
+            if (heap.size() == 0) {
+                enqueue(entity);
+                return null;
+            }
+            return heap.replaceTop(entity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T pushPop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        lock.lock();
+        try {
+            return heap.pushPop(entity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int poll(int n, Collection<? super T> sink) {
+        lock.lock();
+        try {
+            int polled = heap.poll(n, sink);
+            signalPutters(polled);
+            return polled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(T[] dest) {
+        lock.lock();
+        try {
+            int polled = heap.drainTo(dest);
+            signalPutters(polled);
+            return polled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T peek() {
+        lock.lock();
+        try {
+            return heap.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(T t) {
+        heap.add(t);
+        if (waitingTakers > 0) {
+            notEmpty.signal();
+        }
+    }
+
+    private T dequeue() {
+        T entity = heap.poll();
+        if (waitingPutters > 0) {
+            notFull.signal();
+        }
+        return entity;
+    }
+
+    private void signalPutters(int freed) {
+        for (int i = Math.min(freed, waitingPutters); i > 0; i--) {
+            notFull.signal();
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe priority heap on top of a lock-free skip list. {@code add} never blocks and
+ * {@code poll} removes the minimum atomically, so every element is handed out exactly once.
+ * Equal elements are polled in insertion order. {@link #size()} is a moving estimate
+ * while other threads are modifying the heap.
+ */
+@SuppressWarnings("unchecked")
+public class ConcurrentSkipListPriorityHeap<T> implements PriorityHeap<T> {
+    private final ConcurrentSkipListMap<Node<T>, Boolean> heap;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentSkipListPriorityHeap() {
+        this(null);
+    }
+
+    public ConcurrentSkipListPriorityHeap(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        Comparator<? super T> elementComparator = comparator;
+        this.heap = new ConcurrentSkipListMap<>((l, r) -> {
+            int result = elementComparator.compare(l.element, r.element);
+            return result != 0 ? result : Long.compare(l.sequence, r.sequence);
+        });
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        heap.put(new Node<>(t, sequence.getAndIncrement()), Boolean.TRUE);
+        size.increment();
+        return true;
+    }
+
+    @Override
+    public T peek() {
+        Map.Entry<Node<T>, Boolean> first = heap.firstEntry();
+        return first == null ? null : first.getKey().element;
+    }
+
+    @Override
+    public T poll() {
+        Map.Entry<Node<T>, Boolean> first = heap.pollFirstEntry();
+        if (first == null) {
+            return null;
+        }
+        size.decrement();
+        return first.getKey().element;
+    }
+
+    @Override
+    public int size() {
+        long sum = size.sum();
+        return sum <= 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    private record Node<T>(T element, long sequence) {
+    }
+
+}
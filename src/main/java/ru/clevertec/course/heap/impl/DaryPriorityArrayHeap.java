@@ -0,0 +1,145 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Minimal d-ary heap on top of an array. The children of {@code i} occupy the
+ * contiguous range {@code [d * i + 1, d * i + d]}, so each sift level touches one
+ * run of references instead of two separate slots, and the tree is {@code log2(d)}
+ * times shallower than a binary one.
+ */
+@SuppressWarnings("unchecked")
+public class DaryPriorityArrayHeap<T> implements PriorityHeap<T> {
+    private static final int INITIAL_CAPACITY = 8;
+    private final int arity;
+    private final int shift;
+    private T[] heap;
+    private int size;
+
+    private final Comparator<? super T> comparator;
+
+    public DaryPriorityArrayHeap(int arity) {
+        this(arity, INITIAL_CAPACITY, null);
+    }
+
+    public DaryPriorityArrayHeap(int arity, Comparator<? super T> comparator) {
+        this(arity, INITIAL_CAPACITY, comparator);
+    }
+
+    public DaryPriorityArrayHeap(int arity, int initialCapacity, Comparator<? super T> comparator) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("Arity must be a power of two: " + arity);
+        }
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.arity = arity;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.comparator = comparator;
+        this.heap = (T[]) new Object[initialCapacity];
+        this.size = 0;
+    }
+
+    public int arity() {
+        return arity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        int i = size++;
+        if (i >= heap.length) {
+            growHeap(i + 1);
+        }
+        siftUp(i, t);
+        return true;
+    }
+
+    private void growHeap(int oldCapacity) {
+        heap = Arrays.copyOf(heap, oldCapacity << 1);
+    }
+
+    @Override
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T entity = heap[0];
+        int lastElementIndex = --size;
+        T x = heap[lastElementIndex];
+        heap[lastElementIndex] = null;
+        if (lastElementIndex > 0) {
+            siftDown(0, x);
+        }
+        return entity;
+    }
+
+    @Override
+    public T peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    private int getFirstChildIndex(int i) {
+        return (i << shift) + 1;
+    }
+
+    private int getParentIndex(int i) {
+        return (i - 1) >> shift;
+    }
+
+    private void siftDown(int i, T x) {
+        T[] es = heap;
+        int n = size;
+        // bound by the last parent so that i << shift cannot overflow on huge heaps
+        int lastParent = getParentIndex(n - 1);
+        while (i <= lastParent) {
+            int child = getFirstChildIndex(i);
+            int end = child + Math.min(arity, n - child);
+            int best = child;
+            T c = es[child];
+            for (int j = child + 1; j < end; j++) {
+                T e = es[j];
+                if (comparator.compare(e, c) < 0) {
+                    c = e;
+                    best = j;
+                }
+            }
+            if (comparator.compare(x, c) <= 0) {
+                break;
+            }
+            es[i] = c;
+            i = best;
+        }
+        es[i] = x;
+    }
+
+    private void siftUp(int i, T x) {
+        T[] es = heap;
+        while (i > 0) {
+            int parentIndex = getParentIndex(i);
+            T e = es[parentIndex];
+            if (comparator.compare(x, e) >= 0) {
+                break;
+            }
+            es[i] = e;
+            i = parentIndex;
+        }
+        es[i] = x;
+    }
+
+    public Object[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+}
@@ -0,0 +1,118 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class DoublePriorityHeap implements PriorityHeap<Double> {
+    private static final int INITIAL_CAPACITY = 8;
+    private double[] heap;
+    private int size;
+
+    public DoublePriorityHeap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public DoublePriorityHeap(int initialCapacity) {
+        if (initialCapacity < 1) throw new IllegalArgumentException();
+        this.heap = new double[initialCapacity];
+        this.size = 0;
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean add(Double entity) {
+        if (entity == null) throw new NullPointerException();
+        return add(entity.doubleValue());
+    }
+
+    public boolean add(double x) {
+        int i = size++;
+        if (i >= heap.length) {
+            growHeap(i + 1);
+        }
+        siftUp(i, x);
+        return true;
+    }
+
+    private void growHeap(int oldCapacity) {
+        heap = Arrays.copyOf(heap, oldCapacity << 1);
+    }
+
+
+    @Override
+    public Double poll() {
+        return size == 0 ? null : pollDouble();
+    }
+
+    public double pollDouble() {
+        if (size == 0) throw new NoSuchElementException();
+        double entity = heap[0];
+        int lastElementIndex = --size;
+        if (lastElementIndex > 0) {
+            siftDown(0, heap[lastElementIndex]);
+        }
+        return entity;
+    }
+
+
+    @Override
+    public Double peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    public double peekDouble() {
+        if (size == 0) throw new NoSuchElementException();
+        return heap[0];
+    }
+
+    private void siftDown(int i, double x) {
+        double[] es = heap;
+        int n = size;
+        int half = n >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            double c = es[child];
+            if (right < n && Double.compare(c, es[right]) > 0) {
+                c = es[child = right];
+            }
+            if (Double.compare(x, c) <= 0) {
+                break;
+            }
+            es[i] = c;
+            i = child;
+        }
+        es[i] = x;
+    }
+
+    private void siftUp(int i, double x) {
+        double[] es = heap;
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            double e = es[parentIndex];
+            if (Double.compare(x, e) >= 0) {
+                break;
+            }
+            es[i] = e;
+            i = parentIndex;
+        }
+        es[i] = x;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+
+}
@@ -0,0 +1,212 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Minimal binary heap where every element is wrapped in a {@link Handle} that tracks its
+ * current index. The handle returned from {@link #insert} allows changing the priority of,
+ * or removing, that particular element in O(log n) without searching for it.
+ */
+public class IndexedPriorityArrayHeap<T> implements PriorityHeap<T> {
+    private static final int INITIAL_CAPACITY = 8;
+    private Handle<T>[] heap;
+    private int size;
+
+    private final Comparator<? super T> comparator;
+
+    public IndexedPriorityArrayHeap() {
+        this(INITIAL_CAPACITY, null);
+    }
+
+    public IndexedPriorityArrayHeap(Comparator<? super T> comparator) {
+        this(INITIAL_CAPACITY, comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    public IndexedPriorityArrayHeap(int initialCapacity, Comparator<? super T> comparator) {
+        if (initialCapacity < 1) throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.comparator = comparator;
+        this.heap = (Handle<T>[]) new Handle<?>[initialCapacity];
+        this.size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(T t) {
+        insert(t);
+        return true;
+    }
+
+    public Handle<T> insert(T t) {
+        if (t == null) throw new NullPointerException();
+        int i = size++;
+        if (i >= heap.length) {
+            growHeap(i + 1);
+        }
+        Handle<T> handle = new Handle<>(t);
+        siftUp(i, handle);
+        return handle;
+    }
+
+    private void growHeap(int oldCapacity) {
+        heap = Arrays.copyOf(heap, oldCapacity << 1);
+    }
+
+    @Override
+    public T poll() {
+        return size == 0 ? null : removeAt(0).element;
+    }
+
+    @Override
+    public T peek() {
+        return size == 0 ? null : heap[0].element;
+    }
+
+    public Handle<T> peekHandle() {
+        return size == 0 ? null : heap[0];
+    }
+
+    public boolean contains(Handle<T> handle) {
+        int i = handle.index;
+        return i >= 0 && i < size && heap[i] == handle;
+    }
+
+    public void decreaseKey(Handle<T> handle, T entity) {
+        checkContains(handle);
+        if (entity == null) throw new NullPointerException();
+        if (comparator.compare(entity, handle.element) > 0) {
+            throw new IllegalArgumentException("New key is greater than the current one");
+        }
+        handle.element = entity;
+        siftUp(handle.index, handle);
+    }
+
+    public void increaseKey(Handle<T> handle, T entity) {
+        checkContains(handle);
+        if (entity == null) throw new NullPointerException();
+        if (comparator.compare(entity, handle.element) < 0) {
+            throw new IllegalArgumentException("New key is less than the current one");
+        }
+        handle.element = entity;
+        siftDown(handle.index, handle);
+    }
+
+    public void update(Handle<T> handle, T entity) {
+        checkContains(handle);
+        if (entity == null) throw new NullPointerException();
+        handle.element = entity;
+        update(handle);
+    }
+
+    public void update(Handle<T> handle) {
+        checkContains(handle);
+        int i = handle.index;
+        siftUp(i, handle);
+        if (handle.index == i) {
+            siftDown(i, handle);
+        }
+    }
+
+    public boolean remove(Handle<T> handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        removeAt(handle.index);
+        return true;
+    }
+
+    private void checkContains(Handle<T> handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Handle does not belong to this heap");
+        }
+    }
+
+    private Handle<T> removeAt(int i) {
+        Handle<T> removed = heap[i];
+        int lastElementIndex = --size;
+        Handle<T> moved = heap[lastElementIndex];
+        heap[lastElementIndex] = null;
+        if (i != lastElementIndex) {
+            siftDown(i, moved);
+            if (heap[i] == moved) {
+                siftUp(i, moved);
+            }
+        }
+        removed.index = -1;
+        return removed;
+    }
+
+    private int getLeftChildIndex(int i) {
+        return i * 2 + 1;
+    }
+
+    private int getRightChildIndex(int i) {
+        return getLeftChildIndex(i) + 1;
+    }
+
+    private int getParentIndex(int i) {
+        return (i - 1) / 2;
+    }
+
+    private void siftDown(int i, Handle<T> x) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = getLeftChildIndex(i);
+            int right = getRightChildIndex(i);
+            Handle<T> c = heap[child];
+            if (right < size &&
+                    comparator.compare(c.element, heap[right].element) > 0) {
+                c = heap[child = right];
+            }
+            if (comparator.compare(x.element, c.element) <= 0) {
+                break;
+            }
+            place(i, c);
+            i = child;
+        }
+        place(i, x);
+    }
+
+    private void siftUp(int i, Handle<T> x) {
+        while (i > 0) {
+            int parentIndex = getParentIndex(i);
+            Handle<T> e = heap[parentIndex];
+            if (comparator.compare(x.element, e.element) >= 0) {
+                break;
+            }
+            place(i, e);
+            i = parentIndex;
+        }
+        place(i, x);
+    }
+
+    private void place(int i, Handle<T> handle) {
+        heap[i] = handle;
+        handle.index = i;
+    }
+
+    public static final class Handle<T> {
+        private T element;
+        private int index;
+
+        private Handle(T element) {
+            this.element = element;
+            this.index = -1;
+        }
+
+        public T get() {
+            return element;
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IntPriorityHeap implements PriorityHeap<Integer> {
+    private static final int INITIAL_CAPACITY = 8;
+    private int[] heap;
+    private int size;
+
+    public IntPriorityHeap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public IntPriorityHeap(int initialCapacity) {
+        if (initialCapacity < 1) throw new IllegalArgumentException();
+        this.heap = new int[initialCapacity];
+        this.size = 0;
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean add(Integer entity) {
+        if (entity == null) throw new NullPointerException();
+        return add(entity.intValue());
+    }
+
+    public boolean add(int x) {
+        int i = size++;
+        if (i >= heap.length) {
+            growHeap(i + 1);
+        }
+        siftUp(i, x);
+        return true;
+    }
+
+    private void growHeap(int oldCapacity) {
+        heap = Arrays.copyOf(heap, oldCapacity << 1);
+    }
+
+
+    @Override
+    public Integer poll() {
+        return size == 0 ? null : pollInt();
+    }
+
+    public int pollInt() {
+        if (size == 0) throw new NoSuchElementException();
+        int entity = heap[0];
+        int lastElementIndex = --size;
+        if (lastElementIndex > 0) {
+            siftDown(0, heap[lastElementIndex]);
+        }
+        return entity;
+    }
+
+
+    @Override
+    public Integer peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    public int peekInt() {
+        if (size == 0) throw new NoSuchElementException();
+        return heap[0];
+    }
+
+    private void siftDown(int i, int x) {
+        int[] es = heap;
+        int n = size;
+        int half = n >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            int c = es[child];
+            if (right < n && c > es[right]) {
+                c = es[child = right];
+            }
+            if (x <= c) {
+                break;
+            }
+            es[i] = c;
+            i = child;
+        }
+        es[i] = x;
+    }
+
+    private void siftUp(int i, int x) {
+        int[] es = heap;
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            int e = es[parentIndex];
+            if (x >= e) {
+                break;
+            }
+            es[i] = e;
+            i = parentIndex;
+        }
+        es[i] = x;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+
+}
@@ -0,0 +1,150 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+/**
+ * Minimal binary heap that computes a {@code long} sort key once per {@code add} and keeps it
+ * in a {@code long[]} parallel to the element array, so sifting compares primitives instead
+ * of dereferencing elements. Composite keys can be packed into the {@code long} (for example
+ * priority in the high bits and deadline in the low bits); the optional tiebreak comparator
+ * is consulted only for equal keys.
+ */
+@SuppressWarnings("unchecked")
+public class KeyedPriorityArrayHeap<T> implements PriorityHeap<T> {
+    private static final int INITIAL_CAPACITY = 8;
+    private T[] heap;
+    private long[] keys;
+    private int size;
+
+    private final ToLongFunction<? super T> keyExtractor;
+    private final Comparator<? super T> tiebreak;
+
+    public KeyedPriorityArrayHeap(ToLongFunction<? super T> keyExtractor) {
+        this(INITIAL_CAPACITY, keyExtractor, null);
+    }
+
+    public KeyedPriorityArrayHeap(ToLongFunction<? super T> keyExtractor, Comparator<? super T> tiebreak) {
+        this(INITIAL_CAPACITY, keyExtractor, tiebreak);
+    }
+
+    public KeyedPriorityArrayHeap(int initialCapacity, ToLongFunction<? super T> keyExtractor,
+                                  Comparator<? super T> tiebreak) {
+        if (initialCapacity < 1) throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        if (keyExtractor == null) throw new NullPointerException();
+        this.keyExtractor = keyExtractor;
+        this.tiebreak = tiebreak;
+        this.heap = (T[]) new Object[initialCapacity];
+        this.keys = new long[initialCapacity];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        long key = keyExtractor.applyAsLong(t);
+        int i = size++;
+        if (i >= heap.length) {
+            growHeap(i + 1);
+        }
+        siftUp(i, t, key);
+        return true;
+    }
+
+    private void growHeap(int oldCapacity) {
+        heap = Arrays.copyOf(heap, oldCapacity << 1);
+        keys = Arrays.copyOf(keys, oldCapacity << 1);
+    }
+
+    @Override
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T entity = heap[0];
+        int lastElementIndex = --size;
+        T x = heap[lastElementIndex];
+        heap[lastElementIndex] = null;
+        if (lastElementIndex > 0) {
+            siftDown(0, x, keys[lastElementIndex]);
+        }
+        return entity;
+    }
+
+    @Override
+    public T peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Returns the cached key of the head element.
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long peekKey() {
+        if (size == 0) throw new NoSuchElementException();
+        return keys[0];
+    }
+
+    @Override
+    public T replaceTop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        if (size == 0) {
+            add(entity);
+            return null;
+        }
+        T top = heap[0];
+        siftDown(0, entity, keyExtractor.applyAsLong(entity));
+        return top;
+    }
+
+    private int compare(long leftKey, T left, long rightKey, T right) {
+        if (leftKey != rightKey) {
+            return leftKey < rightKey ? -1 : 1;
+        }
+        return tiebreak == null ? 0 : tiebreak.compare(left, right);
+    }
+
+    private void siftDown(int i, T x, long key) {
+        int n = size;
+        int half = n >>> 1;
+        while (i < half) {
+            int child = i * 2 + 1;
+            int right = child + 1;
+            if (right < n && compare(keys[child], heap[child], keys[right], heap[right]) > 0) {
+                child = right;
+            }
+            if (compare(key, x, keys[child], heap[child]) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        heap[i] = x;
+        keys[i] = key;
+    }
+
+    private void siftUp(int i, T x, long key) {
+        while (i > 0) {
+            int parentIndex = (i - 1) / 2;
+            if (compare(key, x, keys[parentIndex], heap[parentIndex]) >= 0) {
+                break;
+            }
+            heap[i] = heap[parentIndex];
+            keys[i] = keys[parentIndex];
+            i = parentIndex;
+        }
+        heap[i] = x;
+        keys[i] = key;
+    }
+
+}
@@ -0,0 +1,194 @@
+package ru.clevertec.course.heap.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Minimal binary heap of fixed-width records living in a memory-mapped file. The file starts
+ * with a small header (magic, version, record size, size, flags and a CRC32 of those fields)
+ * that is rewritten after every operation, so reopening the file restores the heap in O(1)
+ * without re-inserting anything. {@link SyncPolicy} controls when writes are forced to the
+ * storage device.
+ * <p>
+ * Records are sifted in place, so the header carries a dirty flag that is written before the
+ * first record moves and cleared only once the records and size are on the device: after every
+ * operation under {@link SyncPolicy#EVERY_OPERATION}, otherwise on {@link #force()} or
+ * {@link #close()}. Opening a file whose flag is still set fails with an {@link IOException}
+ * instead of returning a heap with broken ordering or duplicated records.
+ */
+public class MappedPriorityHeap<T> extends AbstractRecordPriorityHeap<T> implements Closeable {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAGIC = 0x48454150;
+    private static final int VERSION = 2;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+    private static final int FLAGS_OFFSET = 16;
+    private static final int CHECKSUM_OFFSET = 24;
+    private static final int HEADER_SIZE = 32;
+    private static final int DIRTY = 1;
+
+    private final FileChannel channel;
+    private final SyncPolicy syncPolicy;
+    private final CRC32 checksum = new CRC32();
+    private final ByteBuffer headerFields = ByteBuffer.allocate(20);
+    private MappedByteBuffer mapped;
+    private boolean dirty;
+
+    public MappedPriorityHeap(Path file, RecordLayout<T> layout, RecordKeyExtractor keyExtractor) throws IOException {
+        this(file, INITIAL_CAPACITY, layout, keyExtractor, SyncPolicy.MANUAL);
+    }
+
+    public MappedPriorityHeap(Path file, int initialCapacity, RecordLayout<T> layout,
+                              RecordKeyExtractor keyExtractor, SyncPolicy syncPolicy) throws IOException {
+        super(layout, keyExtractor, HEADER_SIZE);
+        Objects.requireNonNull(syncPolicy, "syncPolicy");
+        if (initialCapacity < 1 || initialCapacity > maxCapacity()) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.syncPolicy = syncPolicy;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long length = channel.size();
+            if (length == 0) {
+                map(initialCapacity);
+                this.size = 0;
+                writeHeader();
+            } else {
+                if (length < bufferLength(0) || length > Integer.MAX_VALUE) {
+                    throw new IOException("Not a heap file: " + file);
+                }
+                map((int) ((length - HEADER_SIZE) / recordSize) - 1);
+                this.size = readHeader(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void map(int capacity) throws IOException {
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bufferLength(capacity));
+        this.heap = mapped;
+        this.capacity = capacity;
+    }
+
+    private int readHeader(Path file) throws IOException {
+        if (heap.getInt(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not a heap file: " + file);
+        }
+        if (heap.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported heap file version: " + heap.getInt(VERSION_OFFSET));
+        }
+        if (heap.getInt(RECORD_SIZE_OFFSET) != recordSize) {
+            throw new IOException("Record size mismatch: " + heap.getInt(RECORD_SIZE_OFFSET) + " != " + recordSize);
+        }
+        int storedSize = heap.getInt(SIZE_OFFSET);
+        int flags = heap.getInt(FLAGS_OFFSET);
+        if (heap.getLong(CHECKSUM_OFFSET) != headerChecksum(storedSize, flags)) {
+            throw new IOException("Corrupted heap header: " + file);
+        }
+        if ((flags & DIRTY) != 0) {
+            throw new IOException("Heap file was not closed cleanly: " + file);
+        }
+        if (storedSize < 0 || storedSize > capacity) {
+            throw new IOException("Corrupted heap size: " + storedSize);
+        }
+        return storedSize;
+    }
+
+    private void writeHeader() {
+        heap.putInt(MAGIC_OFFSET, MAGIC);
+        heap.putInt(VERSION_OFFSET, VERSION);
+        heap.putInt(RECORD_SIZE_OFFSET, recordSize);
+        writeState();
+    }
+
+    private void writeState() {
+        int flags = dirty ? DIRTY : 0;
+        heap.putInt(SIZE_OFFSET, size);
+        heap.putInt(FLAGS_OFFSET, flags);
+        heap.putLong(CHECKSUM_OFFSET, headerChecksum(size, flags));
+    }
+
+    private long headerChecksum(int size, int flags) {
+        checksum.reset();
+        headerFields.clear();
+        headerFields.putInt(MAGIC).putInt(VERSION).putInt(recordSize).putInt(size).putInt(flags).flip();
+        checksum.update(headerFields);
+        return checksum.getValue();
+    }
+
+    @Override
+    protected ByteBuffer growBuffer(int newCapacity) {
+        try {
+            map(newCapacity);
+            return heap;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot grow heap file", e);
+        }
+    }
+
+    @Override
+    protected void beforeChange() {
+        if (!dirty) {
+            dirty = true;
+            writeState();
+            if (syncPolicy != SyncPolicy.NONE) {
+                mapped.force();
+            }
+        }
+    }
+
+    @Override
+    protected void sizeChanged() {
+        writeState();
+        if (syncPolicy == SyncPolicy.EVERY_OPERATION) {
+            force();
+        }
+    }
+
+    /**
+     * Forces the records and size to the storage device, then clears the dirty flag.
+     */
+    public void force() {
+        mapped.force();
+        if (dirty) {
+            dirty = false;
+            writeState();
+            mapped.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            if (syncPolicy != SyncPolicy.NONE) {
+                force();
+            } else if (dirty) {
+                dirty = false;
+                writeState();
+            }
+            channel.close();
+        }
+    }
+
+    public enum SyncPolicy {
+        /** Never force; leave write-back to the operating system. */
+        NONE,
+        /** Force only on {@link #force()} and {@link #close()}. */
+        MANUAL,
+        /** Force before and after every {@code add} and {@code poll}. */
+        EVERY_OPERATION
+    }
+
+}
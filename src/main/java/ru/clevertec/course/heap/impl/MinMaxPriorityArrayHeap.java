@@ -0,0 +1,177 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.DoubleEndedPriorityHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Min-max heap on a single array. Nodes on even levels are not greater than any of their
+ * descendants and nodes on odd levels are not less, so the minimum is at the root and the
+ * maximum is one of its children. {@code add}, {@code poll} and {@code pollMax} are O(log n).
+ */
+@SuppressWarnings("unchecked")
+public class MinMaxPriorityArrayHeap<T> implements DoubleEndedPriorityHeap<T> {
+    private static final int INITIAL_CAPACITY = 8;
+    private T[] heap;
+    private int size;
+
+    private final Comparator<? super T> comparator;
+
+    public MinMaxPriorityArrayHeap() {
+        this(INITIAL_CAPACITY, null);
+    }
+
+    public MinMaxPriorityArrayHeap(Comparator<? super T> comparator) {
+        this(INITIAL_CAPACITY, comparator);
+    }
+
+    public MinMaxPriorityArrayHeap(int initialCapacity, Comparator<? super T> comparator) {
+        if (initialCapacity < 1) throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.comparator = comparator;
+        this.heap = (T[]) new Object[initialCapacity];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        int i = size++;
+        if (i >= heap.length) {
+            growHeap(i + 1);
+        }
+        pushUp(i, t);
+        return true;
+    }
+
+    private void growHeap(int oldCapacity) {
+        heap = Arrays.copyOf(heap, oldCapacity << 1);
+    }
+
+    @Override
+    public T peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    @Override
+    public T peekMax() {
+        return size == 0 ? null : heap[maxIndex()];
+    }
+
+    @Override
+    public T poll() {
+        return size == 0 ? null : removeAt(0);
+    }
+
+    @Override
+    public T pollMax() {
+        return size == 0 ? null : removeAt(maxIndex());
+    }
+
+    private int maxIndex() {
+        if (size <= 2) {
+            return size - 1;
+        }
+        return comparator.compare(heap[1], heap[2]) >= 0 ? 1 : 2;
+    }
+
+    private T removeAt(int i) {
+        T entity = heap[i];
+        int lastElementIndex = --size;
+        T x = heap[lastElementIndex];
+        heap[lastElementIndex] = null;
+        if (i < lastElementIndex) {
+            trickleDown(i, x, isMinLevel(i));
+        }
+        return entity;
+    }
+
+    private static boolean isMinLevel(int i) {
+        return ((31 - Integer.numberOfLeadingZeros(i + 1)) & 1) == 0;
+    }
+
+    private void pushUp(int i, T x) {
+        if (i == 0) {
+            heap[0] = x;
+            return;
+        }
+        int parentIndex = (i - 1) / 2;
+        boolean minLevel = isMinLevel(i);
+        if (compare(x, heap[parentIndex], minLevel) > 0) {
+            heap[i] = heap[parentIndex];
+            pushUpGrandparents(parentIndex, x, !minLevel);
+        } else {
+            pushUpGrandparents(i, x, minLevel);
+        }
+    }
+
+    /**
+     * Compares in the order of a min level, or in reverse on a max level. Arguments are swapped
+     * rather than the result negated, which would overflow for {@code Integer.MIN_VALUE}.
+     */
+    private int compare(T left, T right, boolean minLevel) {
+        return minLevel ? comparator.compare(left, right) : comparator.compare(right, left);
+    }
+
+    /**
+     * Moves {@code x} up through grandparents while it comes before them in the order of the
+     * level: ascending on min levels and descending on max levels.
+     */
+    private void pushUpGrandparents(int i, T x, boolean minLevel) {
+        while (i > 2) {
+            int grandparentIndex = ((i - 1) / 2 - 1) / 2;
+            T e = heap[grandparentIndex];
+            if (compare(x, e, minLevel) >= 0) {
+                break;
+            }
+            heap[i] = e;
+            i = grandparentIndex;
+        }
+        heap[i] = x;
+    }
+
+    /**
+     * Sinks {@code x} from {@code i} through the best of its children and grandchildren, where
+     * the best is the least on a min level and the greatest on a max level.
+     */
+    private void trickleDown(int i, T x, boolean minLevel) {
+        while (true) {
+            int child = i * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            int best = child;
+            if (child + 1 < size && compare(heap[child + 1], heap[best], minLevel) < 0) {
+                best = child + 1;
+            }
+            for (int g = child * 2 + 1, end = Math.min(g + 4, size); g < end; g++) {
+                if (compare(heap[g], heap[best], minLevel) < 0) {
+                    best = g;
+                }
+            }
+            if (compare(heap[best], x, minLevel) >= 0) {
+                break;
+            }
+            heap[i] = heap[best];
+            i = best;
+            if (best <= child + 1) {
+                break;
+            }
+            int parentIndex = (best - 1) / 2;
+            if (compare(x, heap[parentIndex], minLevel) > 0) {
+                T e = heap[parentIndex];
+                heap[parentIndex] = x;
+                x = e;
+            }
+        }
+        heap[i] = x;
+    }
+
+}
@@ -0,0 +1,160 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Relaxed concurrent priority heap (MultiQueue). Elements are spread over
+ * {@code shardsPerThread * threads} independent {@link PriorityArrayHeap} shards guarded by
+ * try-locks. {@code add} goes to a random shard and {@code poll} takes the better top of two
+ * random shards, so {@code poll} returns an element close to, but not necessarily equal to,
+ * the global minimum. {@code poll} returns {@code null} only after seeing every shard empty.
+ */
+public class MultiQueuePriorityHeap<T> implements PriorityHeap<T> {
+    private static final int DEFAULT_SHARDS_PER_THREAD = 2;
+    private static final int POLL_ATTEMPTS = 8;
+    private final Shard<T>[] shards;
+    private final Comparator<? super T> comparator;
+    private final LongAdder size = new LongAdder();
+
+    public MultiQueuePriorityHeap() {
+        this(DEFAULT_SHARDS_PER_THREAD, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    public MultiQueuePriorityHeap(Comparator<? super T> comparator) {
+        this(DEFAULT_SHARDS_PER_THREAD, Runtime.getRuntime().availableProcessors(), comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    public MultiQueuePriorityHeap(int shardsPerThread, int threads, Comparator<? super T> comparator) {
+        if (shardsPerThread < 1 || threads < 1) {
+            throw new IllegalArgumentException("Illegal shard count: " + shardsPerThread + " x " + threads);
+        }
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.comparator = comparator;
+        int shardCount = Math.max(2, shardsPerThread * threads);
+        this.shards = (Shard<T>[]) new Shard<?>[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard<>(comparator);
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Shard<T> shard = shards[random.nextInt(shards.length)];
+            if (shard.lock.tryLock()) {
+                try {
+                    shard.heap.add(t);
+                    shard.top = shard.heap.peek();
+                } finally {
+                    shard.lock.unlock();
+                }
+                size.increment();
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public T peek() {
+        T best = null;
+        for (Shard<T> shard : shards) {
+            T top = shard.top;
+            if (top != null && (best == null || comparator.compare(top, best) < 0)) {
+                best = top;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public T poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < POLL_ATTEMPTS; attempt++) {
+            int first = random.nextInt(shards.length);
+            int second = random.nextInt(shards.length - 1);
+            if (second >= first) {
+                second++;
+            }
+            Shard<T> shard = better(shards[first], shards[second]);
+            if (shard == null) {
+                continue;
+            }
+            if (shard.lock.tryLock()) {
+                T entity;
+                try {
+                    entity = shard.heap.poll();
+                    shard.top = shard.heap.peek();
+                } finally {
+                    shard.lock.unlock();
+                }
+                if (entity != null) {
+                    size.decrement();
+                    return entity;
+                }
+            }
+        }
+        return pollAnyShard(random.nextInt(shards.length));
+    }
+
+    private Shard<T> better(Shard<T> first, Shard<T> second) {
+        T firstTop = first.top;
+        T secondTop = second.top;
+        if (firstTop == null) {
+            return secondTop == null ? null : second;
+        }
+        if (secondTop == null) {
+            return first;
+        }
+        return comparator.compare(firstTop, secondTop) <= 0 ? first : second;
+    }
+
+    private T pollAnyShard(int from) {
+        for (int i = 0; i < shards.length; i++) {
+            Shard<T> shard = shards[(from + i) % shards.length];
+            T entity;
+            shard.lock.lock();
+            try {
+                entity = shard.heap.poll();
+                shard.top = shard.heap.peek();
+            } finally {
+                shard.lock.unlock();
+            }
+            if (entity != null) {
+                size.decrement();
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        long sum = size.sum();
+        return sum <= 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    private static final class Shard<T> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final PriorityArrayHeap<T> heap;
+        private volatile T top;
+
+        private Shard(Comparator<? super T> comparator) {
+            this.heap = new PriorityArrayHeap<>(comparator);
+        }
+    }
+
+}
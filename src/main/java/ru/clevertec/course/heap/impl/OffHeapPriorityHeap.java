@@ -0,0 +1,41 @@
+package ru.clevertec.course.heap.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Minimal binary heap of fixed-width records kept in a direct {@link ByteBuffer}, so the
+ * garbage collector sees a single buffer object regardless of the element count. Sifting
+ * compares keys read in place by a {@link RecordKeyExtractor} and moves raw record bytes;
+ * elements are only materialized by {@link #peek()} and {@link #poll()}. The whole heap is
+ * limited to {@code Integer.MAX_VALUE} bytes.
+ */
+public class OffHeapPriorityHeap<T> extends AbstractRecordPriorityHeap<T> {
+    private static final int INITIAL_CAPACITY = 8;
+
+    public OffHeapPriorityHeap(RecordLayout<T> layout, RecordKeyExtractor keyExtractor) {
+        this(INITIAL_CAPACITY, layout, keyExtractor);
+    }
+
+    public OffHeapPriorityHeap(int initialCapacity, RecordLayout<T> layout, RecordKeyExtractor keyExtractor) {
+        super(layout, keyExtractor, 0);
+        if (initialCapacity < 1 || initialCapacity > maxCapacity()) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.capacity = initialCapacity;
+        this.heap = allocate(initialCapacity);
+        this.size = 0;
+    }
+
+    @Override
+    protected ByteBuffer growBuffer(int newCapacity) {
+        ByteBuffer grown = allocate(newCapacity);
+        grown.put(0, heap, 0, size * recordSize);
+        return grown;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(bufferLength(capacity)).order(ByteOrder.nativeOrder());
+    }
+
+}
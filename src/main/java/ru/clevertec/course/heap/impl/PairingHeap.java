@@ -0,0 +1,237 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Comparator;
+
+/**
+ * Minimal pairing heap. {@link #meld} takes all elements of another pairing heap in O(1) and
+ * {@link #decreaseKey} runs in O(1) plus an amortized share of the next {@code poll}.
+ * <p>
+ * Nodes of elements added through {@link #add} are recycled through a small free list once
+ * polled. Nodes returned from {@link #insert} are handles owned by the caller and are never
+ * recycled, so a stale handle can always be detected.
+ */
+@SuppressWarnings("unchecked")
+public class PairingHeap<T> implements PriorityHeap<T> {
+    private static final int POOL_LIMIT = 1024;
+    private final Comparator<? super T> comparator;
+    private Node<T> root;
+    private int size;
+    private Node<T> pool;
+    private int pooled;
+    private Owner owner = new Owner();
+
+    public PairingHeap() {
+        this(null);
+    }
+
+    public PairingHeap(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.comparator = comparator;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        Node<T> node = pool;
+        if (node != null) {
+            pool = node.sibling;
+            node.sibling = null;
+            pooled--;
+        } else {
+            node = new Node<>(false);
+        }
+        push(node, t);
+        return true;
+    }
+
+    public Node<T> insert(T t) {
+        if (t == null) throw new NullPointerException();
+        Node<T> node = new Node<>(true);
+        push(node, t);
+        return node;
+    }
+
+    private void push(Node<T> node, T t) {
+        node.element = t;
+        node.inHeap = true;
+        node.owner = owner;
+        root = root == null ? node : link(root, node);
+        size++;
+    }
+
+    @Override
+    public T peek() {
+        return root == null ? null : root.element;
+    }
+
+    @Override
+    public T poll() {
+        Node<T> node = root;
+        if (node == null) {
+            return null;
+        }
+        T entity = node.element;
+        root = combineSiblings(node.child);
+        size--;
+        release(node);
+        return entity;
+    }
+
+    public void decreaseKey(Node<T> node, T entity) {
+        if (!node.inHeap || ownerOf(node) != owner) throw new IllegalArgumentException("Node is not in the heap");
+        if (entity == null) throw new NullPointerException();
+        if (comparator.compare(entity, node.element) > 0) {
+            throw new IllegalArgumentException("New key is greater than the current one");
+        }
+        node.element = entity;
+        if (node == root) {
+            return;
+        }
+        if (node.prev.child == node) {
+            node.prev.child = node.sibling;
+        } else {
+            node.prev.sibling = node.sibling;
+        }
+        if (node.sibling != null) {
+            node.sibling.prev = node.prev;
+        }
+        node.sibling = null;
+        node.prev = null;
+        root = link(root, node);
+    }
+
+    /**
+     * Moves every element of {@code other} into this heap in O(1), leaving {@code other} empty.
+     * Both heaps must order elements the same way; handles of {@code other} stay valid here.
+     */
+    public void meld(PairingHeap<T> other) {
+        if (other == this || other.root == null) {
+            return;
+        }
+        root = root == null ? other.root : link(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+        other.owner.next = owner;
+        other.owner = new Owner();
+    }
+
+    /**
+     * Resolves the heap token of a node, following the forwarding left by {@link #meld} and
+     * shortening the path for later lookups.
+     */
+    private static Owner ownerOf(Node<?> node) {
+        Owner current = node.owner;
+        while (current.next != null) {
+            current = current.next;
+        }
+        for (Owner o = node.owner; o != current; ) {
+            Owner next = o.next;
+            o.next = current;
+            o = next;
+        }
+        node.owner = current;
+        return current;
+    }
+
+    private Node<T> link(Node<T> a, Node<T> b) {
+        if (comparator.compare(b.element, a.element) < 0) {
+            Node<T> tmp = a;
+            a = b;
+            b = tmp;
+        }
+        Node<T> child = a.child;
+        b.prev = a;
+        b.sibling = child;
+        if (child != null) {
+            child.prev = b;
+        }
+        a.child = b;
+        return a;
+    }
+
+    private Node<T> combineSiblings(Node<T> first) {
+        if (first == null) {
+            return null;
+        }
+        Node<T> pairs = null;
+        while (first != null) {
+            Node<T> a = first;
+            Node<T> b = a.sibling;
+            a.prev = null;
+            if (b == null) {
+                a.sibling = pairs;
+                pairs = a;
+                break;
+            }
+            first = b.sibling;
+            a.sibling = null;
+            b.sibling = null;
+            b.prev = null;
+            Node<T> merged = link(a, b);
+            merged.sibling = pairs;
+            pairs = merged;
+        }
+        Node<T> result = pairs;
+        pairs = pairs.sibling;
+        result.sibling = null;
+        while (pairs != null) {
+            Node<T> next = pairs.sibling;
+            pairs.sibling = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        result.prev = null;
+        return result;
+    }
+
+    private void release(Node<T> node) {
+        node.inHeap = false;
+        node.owner = null;
+        node.child = null;
+        node.prev = null;
+        node.sibling = null;
+        if (!node.handle && pooled < POOL_LIMIT) {
+            node.element = null;
+            node.sibling = pool;
+            pool = node;
+            pooled++;
+        }
+    }
+
+    private static final class Owner {
+        private Owner next;
+    }
+
+    public static final class Node<T> {
+        private final boolean handle;
+        private T element;
+        private Node<T> child;
+        private Node<T> sibling;
+        private Node<T> prev;
+        private boolean inHeap;
+        private Owner owner;
+
+        private Node(boolean handle) {
+            this.handle = handle;
+        }
+
+        public T get() {
+            return element;
+        }
+
+        public boolean isInHeap() {
+            return inHeap;
+        }
+    }
+
+}
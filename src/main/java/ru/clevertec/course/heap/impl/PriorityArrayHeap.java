@@ -1,41 +1,142 @@
 package ru.clevertec.course.heap.impl;
 
 import ru.clevertec.course.heap.PriorityHeap;
+import ru.clevertec.course.heap.metrics.HeapMetrics;
+import ru.clevertec.course.heap.metrics.ReferenceSize;
 
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @SuppressWarnings("unchecked")
 public class PriorityArrayHeap<T> implements PriorityHeap<T> {
     private static final int INITIAL_CAPACITY = 8;
+    private static final int ARRAY_HEADER_BYTES = 16;
     private T[] heap;
     private int size;
 
     private final Comparator<? super T> comparator;
+    private final HeapMetrics metrics = HeapMetrics.ENABLED ? new HeapMetrics() : null;
+    private final PollStrategy pollStrategy;
+    private final GrowthPolicy growthPolicy;
+    private final int shrinkFloor;
+    private int shrinkThreshold;
 
     public PriorityArrayHeap() {
         this(INITIAL_CAPACITY);
     }
 
     public PriorityArrayHeap(int initialCapacity) {
-
-        this.comparator = (Comparator<? super T>) Comparator.naturalOrder();
-        this.heap = (T[]) new Object[initialCapacity];
-        this.size = 0;
+        this(initialCapacity, (Comparator<? super T>) Comparator.naturalOrder());
     }
 
     public PriorityArrayHeap(Comparator<? super T> comparator) {
-        this.comparator = comparator;
-        this.heap = (T[]) new Object[INITIAL_CAPACITY];
-        this.size = 0;
+        this(INITIAL_CAPACITY, comparator);
     }
 
     public PriorityArrayHeap(int initialCapacity, Comparator<? super T> comparator) {
-        this.comparator = comparator;
+        this(initialCapacity, comparator, PollStrategy.STANDARD);
+    }
+
+    public PriorityArrayHeap(int initialCapacity, Comparator<? super T> comparator, PollStrategy pollStrategy) {
+        this(initialCapacity, comparator, pollStrategy, GrowthPolicy.doubling());
+    }
+
+    public PriorityArrayHeap(int initialCapacity, Comparator<? super T> comparator,
+                             PollStrategy pollStrategy, GrowthPolicy growthPolicy) {
+        if (pollStrategy == null || growthPolicy == null) throw new NullPointerException();
+        if (initialCapacity > growthPolicy.maxCapacity()) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.comparator = instrument(comparator);
         this.heap = (T[]) new Object[initialCapacity];
         this.size = 0;
+        this.pollStrategy = pollStrategy;
+        this.growthPolicy = growthPolicy;
+        this.shrinkFloor = Math.max(1, Math.min(initialCapacity, INITIAL_CAPACITY));
+        this.shrinkThreshold = shrinkThreshold(initialCapacity);
+    }
+
+    public PriorityArrayHeap(Collection<? extends T> collection) {
+        this(collection, (Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    public PriorityArrayHeap(Collection<? extends T> collection, Comparator<? super T> comparator) {
+        this(Math.max(collection.size(), 1), comparator);
+        addAll(collection);
+    }
+
+    public PriorityArrayHeap(T[] elements) {
+        this(elements, (Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    public PriorityArrayHeap(T[] elements, Comparator<? super T> comparator) {
+        this(Math.max(elements.length, 1), comparator);
+        addAll(elements);
+    }
+
+    public PriorityArrayHeap(Spliterator<? extends T> spliterator, Comparator<? super T> comparator) {
+        this(INITIAL_CAPACITY, comparator);
+        addAll(spliterator);
     }
 
 
+    private Comparator<? super T> instrument(Comparator<? super T> comparator) {
+        if (HeapMetrics.ENABLED) {
+            return metrics.counting(comparator);
+        }
+        return comparator;
+    }
+
+    /**
+     * Counters of this instance, present only when {@link HeapMetrics#ENABLED} is set.
+     */
+    public Optional<HeapMetrics> metrics() {
+        return Optional.ofNullable(metrics);
+    }
+
+    public PollStrategy pollStrategy() {
+        return pollStrategy;
+    }
+
+    public GrowthPolicy growthPolicy() {
+        return growthPolicy;
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Estimated bytes retained by the backing array, excluding the elements themselves.
+     */
+    public long retainedBytes() {
+        return ARRAY_HEADER_BYTES + (long) heap.length * ReferenceSize.BYTES;
+    }
+
+    /**
+     * Presizes the backing array for at least {@code minCapacity} elements. With
+     * {@link GrowthPolicy#withAutoShrink()} the array may shrink again on the next poll.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > growthPolicy.maxCapacity()) {
+            throw new IllegalArgumentException("Illegal capacity: " + minCapacity);
+        }
+        if (minCapacity > heap.length) {
+            resize(minCapacity);
+        }
+    }
+
+    public void trimToSize() {
+        int newCapacity = Math.max(size, 1);
+        if (newCapacity < heap.length) {
+            resize(newCapacity);
+        }
+    }
+
     @Override
     public int size() {
         return size;
@@ -44,34 +145,184 @@ public class PriorityArrayHeap<T> implements PriorityHeap<T> {
     @Override
     public boolean add(T t) {
         if (t == null) throw new NullPointerException();
-        int i = size++;
-        if (i >= heap.length) {
-            growHeap(i + 1);
+        int i = size;
+        if (i >= heap.length && !growHeap(i + 1)) {
+            return false;
         }
+        size = i + 1;
         siftUp(i, t);
+        if (HeapMetrics.ENABLED) {
+            metrics.recordAdd(size);
+        }
+        return true;
+    }
+
+    private boolean growHeap(int minCapacity) {
+        int newCapacity = growthPolicy.newCapacity(minCapacity);
+        if (newCapacity < minCapacity) {
+            return false;
+        }
+        resize(newCapacity);
         return true;
     }
 
-    private void growHeap(int oldCapacity) {
-        heap = Arrays.copyOf(heap, oldCapacity << 1);
+    private void ensureCapacityInternal(int minCapacity) {
+        if (minCapacity > heap.length) {
+            if (minCapacity > growthPolicy.maxCapacity()) {
+                throw new IllegalStateException("Heap is full: " + growthPolicy.maxCapacity());
+            }
+            resize(minCapacity);
+        }
+    }
+
+    private void resize(int newCapacity) {
+        if (HeapMetrics.ENABLED) {
+            metrics.recordResize(Math.min(heap.length, newCapacity));
+        }
+        heap = Arrays.copyOf(heap, newCapacity);
+        shrinkThreshold = shrinkThreshold(newCapacity);
+    }
+
+    private int shrinkThreshold(int capacity) {
+        return growthPolicy.autoShrink() && capacity > shrinkFloor ? capacity >>> 2 : 0;
+    }
+
+    /**
+     * Halves the array until the heap fills at least a quarter of it again or the floor is
+     * reached. A shrunk heap is therefore between a quarter and half full, so it must at least
+     * double before the next grow.
+     */
+    private void shrink() {
+        int newCapacity = heap.length;
+        do {
+            newCapacity >>>= 1;
+        } while (size < newCapacity >>> 2 && newCapacity >>> 1 >= shrinkFloor);
+        resize(Math.max(newCapacity, shrinkFloor));
     }
 
 
     @Override
     public T poll() {
+        return size == 0 ? null : pollFirst();
+    }
+
+    private T pollFirst() {
         T entity = heap[0];
-        if (entity != null) {
-            int lastElementIndex = --size;
-            T x = heap[lastElementIndex];
-            heap[lastElementIndex] = null;
-            if (size() > 0) {
-                siftDown(0, x);
+        int lastElementIndex = --size;
+        T x = heap[lastElementIndex];
+        heap[lastElementIndex] = null;
+        int levels = 0;
+        if (lastElementIndex > 0) {
+            if (pollStrategy == PollStrategy.BOTTOM_UP) {
+                levels = siftDownBottomUp(0, x);
+            } else {
+                levels = siftDown(0, x);
+            }
+        }
+        if (size < shrinkThreshold) {
+            shrink();
+        }
+        if (HeapMetrics.ENABLED) {
+            metrics.recordPoll(1);
+            if (lastElementIndex > 0) {
+                metrics.recordSiftDown(levels);
             }
         }
-
         return entity;
     }
 
+    @Override
+    public T replaceTop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        if (size == 0) {
+            add(entity);
+            return null;
+        }
+        T top = heap[0];
+        siftDown(0, entity);
+        if (HeapMetrics.ENABLED) {
+            metrics.recordPoll(1);
+            metrics.recordAdd(size);
+        }
+        return top;
+    }
+
+    @Override
+    public T pushPop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        if (size == 0 || comparator.compare(entity, heap[0]) <= 0) {
+            return entity;
+        }
+        T top = heap[0];
+        siftDown(0, entity);
+        if (HeapMetrics.ENABLED) {
+            metrics.recordPoll(1);
+            metrics.recordAdd(size);
+        }
+        return top;
+    }
+
+    @Override
+    public int poll(int n, Collection<? super T> sink) {
+        if (n < 0) throw new IllegalArgumentException("Negative count: " + n);
+        int count = Math.min(n, size);
+        if (count == 0) {
+            return 0;
+        }
+        if (isBulkPoll(count)) {
+            Arrays.sort(heap, 0, size, comparator);
+            int i = 0;
+            try {
+                while (i < count) {
+                    sink.add(heap[i]);
+                    i++;
+                }
+            } finally {
+                removeSortedPrefix(i);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                sink.add(pollFirst());
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int drainTo(T[] dest) {
+        int count = Math.min(dest.length, size);
+        if (count == 0) {
+            return 0;
+        }
+        if (isBulkPoll(count)) {
+            Arrays.sort(heap, 0, size, comparator);
+            System.arraycopy(heap, 0, dest, 0, count);
+            removeSortedPrefix(count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                dest[i] = pollFirst();
+            }
+        }
+        return count;
+    }
+
+    private boolean isBulkPoll(int count) {
+        return count >= size >>> 1;
+    }
+
+    private void removeSortedPrefix(int count) {
+        int remaining = size - count;
+        System.arraycopy(heap, count, heap, 0, remaining);
+        Arrays.fill(heap, remaining, size, null);
+        size = remaining;
+        if (size < shrinkThreshold) {
+            shrink();
+        }
+        if (HeapMetrics.ENABLED) {
+            metrics.recordPoll(count);
+        }
+    }
+
 
     @Override
     public T peek() {
@@ -90,32 +341,70 @@ public class PriorityArrayHeap<T> implements PriorityHeap<T> {
         return (i - 1) / 2;
     }
 
-    private void siftDown(int i, T x) {
-        int half = size() >>> 1;
+    /**
+     * Returns the number of levels {@code x} moved down; only {@code poll} records it, so
+     * {@code heapify} and {@code replaceTop} stay out of the per-poll sift-down metrics.
+     */
+    private int siftDown(int i, T x) {
+        int n = size;
+        int half = n >>> 1;
+        int levels = 0;
         while (i < half) {
             int left = getLeftChildIndex(i);
             int right = getRightChildIndex(i);
-            if (right < size &&
+            if (right < n &&
                     comparator.compare(heap[left], heap[right]) > 0) {
                 left = right;
             }
             if (comparator.compare(x, heap[left]) <= 0) {
                 break;
             }
-            swap(i, left);
+            heap[i] = heap[left];
             i = left;
+            levels++;
         }
         heap[i] = x;
-
+        return levels;
     }
 
-    private void swap(int from, int to) {
-        T temp = heap[from];
-        heap[from] = heap[to];
-        heap[to] = temp;
+    /**
+     * Floyd's variant: moves the hole at {@code i} down to a leaf along the smaller children
+     * without comparing against {@code x}, then sifts {@code x} up from there. The element
+     * taken from the last slot almost always belongs near the bottom, so this costs about
+     * log n + O(1) comparisons instead of 2 log n.
+     */
+    private int siftDownBottomUp(int i, T x) {
+        int start = i;
+        int n = size;
+        int levels = 0;
+        int right;
+        while ((right = getRightChildIndex(i)) < n) {
+            int child = comparator.compare(heap[right - 1], heap[right]) <= 0 ? right - 1 : right;
+            heap[i] = heap[child];
+            i = child;
+            levels++;
+        }
+        if (right == n) {
+            heap[i] = heap[right - 1];
+            i = right - 1;
+            levels++;
+        }
+        while (i > start) {
+            int parentIndex = getParentIndex(i);
+            T e = heap[parentIndex];
+            if (comparator.compare(x, e) >= 0) {
+                break;
+            }
+            heap[i] = e;
+            i = parentIndex;
+            levels--;
+        }
+        heap[i] = x;
+        return levels;
     }
 
     private void siftUp(int i, T x) {
+        int levels = 0;
         while (i > 0) {
             int parentIndex = getParentIndex(i);
             T e = heap[parentIndex];
@@ -124,14 +413,92 @@ public class PriorityArrayHeap<T> implements PriorityHeap<T> {
             }
             heap[i] = e;
             i = parentIndex;
+            levels++;
         }
         heap[i] = x;
+        if (HeapMetrics.ENABLED) {
+            metrics.recordSiftUp(levels);
+        }
+
+
+    }
+
+    public void addAll(Collection<? extends T> collection) {
+        int oldSize = size;
+        ensureCapacityInternal(oldSize + collection.size());
+        try {
+            for (T t : collection) {
+                append(t);
+            }
+        } catch (RuntimeException e) {
+            rollback(oldSize);
+            throw e;
+        }
+        heapifyAppended(oldSize);
+    }
+
+    public void addAll(T[] elements) {
+        int oldSize = size;
+        ensureCapacityInternal(oldSize + elements.length);
+        try {
+            for (T t : elements) {
+                append(t);
+            }
+        } catch (RuntimeException e) {
+            rollback(oldSize);
+            throw e;
+        }
+        heapifyAppended(oldSize);
+    }
+
+    public void addAll(Spliterator<? extends T> spliterator) {
+        int oldSize = size;
+        long expectedSize = spliterator.getExactSizeIfKnown();
+        if (expectedSize > 0 && expectedSize <= Integer.MAX_VALUE - oldSize) {
+            ensureCapacityInternal(oldSize + (int) expectedSize);
+        }
+        try {
+            spliterator.forEachRemaining(this::append);
+        } catch (RuntimeException e) {
+            rollback(oldSize);
+            throw e;
+        }
+        heapifyAppended(oldSize);
+    }
 
+    private void append(T t) {
+        if (t == null) throw new NullPointerException();
+        int i = size;
+        if (i >= heap.length && !growHeap(i + 1)) {
+            throw new IllegalStateException("Heap is full: " + growthPolicy.maxCapacity());
+        }
+        heap[i] = t;
+        size = i + 1;
+    }
+
+    private void rollback(int oldSize) {
+        Arrays.fill(heap, oldSize, size, null);
+        size = oldSize;
+    }
 
+    private void heapifyAppended(int oldSize) {
+        int appended = size - oldSize;
+        if (HeapMetrics.ENABLED) {
+            metrics.recordAdds(appended, size);
+        }
+        if (appended >= oldSize) {
+            heapify();
+        } else {
+            for (int i = oldSize; i < size; i++) {
+                siftUp(i, heap[i]);
+            }
+        }
     }
 
-    public void addAll(Collection<T> collection) {
-        collection.forEach(this::add);
+    private void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, heap[i]);
+        }
     }
 
 
@@ -139,5 +506,107 @@ public class PriorityArrayHeap<T> implements PriorityHeap<T> {
         return Arrays.copyOf(heap, size);
     }
 
+    /**
+     * Iterates over the elements in priority order without removing them.
+     */
+    public Iterator<T> sortedIterator() {
+        T[] elements = heap;
+        return new SortedHeapIterator<>(i -> elements[i], size, comparator);
+    }
+
+    public Stream<T> sortedStream() {
+        return StreamSupport.stream(Spliterators.spliterator(sortedIterator(), size,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Returns an unordered spliterator over the backing array that splits in halves, for
+     * parallel processing of the heap contents.
+     */
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(heap, 0, size, Spliterator.NONNULL);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public enum PollStrategy {
+        /** Sift the last element down from the root, two comparisons per level. */
+        STANDARD,
+        /**
+         * Floyd's bottom-up pop: move the hole to a leaf, then sift the last element up. Saves
+         * comparisons, not memory traffic, so it pays off only with expensive comparators: in
+         * {@code PollStrategyBenchmark} it was about 25% faster on long-prefix strings and
+         * indistinguishable from {@link #STANDARD} on {@code Integer} keys.
+         */
+        BOTTOM_UP
+    }
+
+    /**
+     * How the backing array grows when full, an optional maximum capacity at which
+     * {@code add} returns {@code false} and bulk adds throw {@link IllegalStateException},
+     * and whether it shrinks automatically. An auto-shrinking heap halves its array once size
+     * drops below a quarter of the capacity, but never below the smaller of its initial
+     * capacity and the default one.
+     */
+    public static final class GrowthPolicy {
+        private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+        private final int factorPercent;
+        private final int increment;
+        private final int maxCapacity;
+        private final boolean autoShrink;
+
+        private GrowthPolicy(int factorPercent, int increment, int maxCapacity, boolean autoShrink) {
+            this.factorPercent = factorPercent;
+            this.increment = increment;
+            this.maxCapacity = maxCapacity;
+            this.autoShrink = autoShrink;
+        }
+
+        public static GrowthPolicy doubling() {
+            return new GrowthPolicy(200, 0, MAX_ARRAY_SIZE, false);
+        }
+
+        public static GrowthPolicy oneAndHalf() {
+            return new GrowthPolicy(150, 0, MAX_ARRAY_SIZE, false);
+        }
+
+        public static GrowthPolicy fixedIncrement(int increment) {
+            if (increment < 1) throw new IllegalArgumentException("Illegal increment: " + increment);
+            return new GrowthPolicy(100, increment, MAX_ARRAY_SIZE, false);
+        }
+
+        public GrowthPolicy withMaxCapacity(int maxCapacity) {
+            if (maxCapacity < 1 || maxCapacity > MAX_ARRAY_SIZE) {
+                throw new IllegalArgumentException("Illegal capacity: " + maxCapacity);
+            }
+            return new GrowthPolicy(factorPercent, increment, maxCapacity, autoShrink);
+        }
+
+        public GrowthPolicy withAutoShrink() {
+            return new GrowthPolicy(factorPercent, increment, maxCapacity, true);
+        }
+
+        public int maxCapacity() {
+            return maxCapacity;
+        }
+
+        public boolean autoShrink() {
+            return autoShrink;
+        }
+
+        /**
+         * Returns the capacity to grow to when {@code minCapacity} slots are required, capped
+         * at the maximum capacity, or {@code -1} if {@code minCapacity} exceeds it.
+         */
+        int newCapacity(int minCapacity) {
+            if (minCapacity > maxCapacity) {
+                return -1;
+            }
+            long grown = (long) minCapacity * factorPercent / 100 + increment;
+            return (int) Math.min(grown, maxCapacity);
+        }
+    }
 
 }
@@ -3,12 +3,18 @@ package ru.clevertec.course.heap.impl;
 import ru.clevertec.course.heap.PriorityHeap;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @SuppressWarnings("unchecked")
 public class PriorityArrayListHeap<T> extends AbstractQueue<T> implements PriorityHeap<T> {
     private static final int INITIAL_CAPACITY = 10;
     private final List<T> heap;
     private final Comparator<? super T> comparator;
+    private final double compactionThreshold;
+    private final Map<T, Occurrences> occurrences;
+    private int tombstones;
 
     public PriorityArrayListHeap() {
         this(INITIAL_CAPACITY);
@@ -31,51 +37,265 @@ public class PriorityArrayListHeap<T> extends AbstractQueue<T> implements Priori
         this(new ArrayList<>(priorityQueue), priorityQueue.comparator());
     }
 
+    public PriorityArrayListHeap(Collection<? extends T> collection) {
+        this(collection, null);
+    }
+
+    public PriorityArrayListHeap(Collection<? extends T> collection,
+                                 Comparator<? super T> comparator) {
+        this(new ArrayList<>(Math.max(collection.size(), 1)), comparator);
+        addAll(collection);
+    }
+
+    /**
+     * Creates a heap with lazy deletion: {@link #remove(Object)} only marks the element, which
+     * is dropped when it reaches the head, and the heap compacts itself in O(n) once marked
+     * elements exceed {@code compactionThreshold} of the stored elements. Removal then costs
+     * amortized O(log n) instead of O(n), but matches elements by identity rather than
+     * {@code equals}, every add and poll updates an identity map of the contents, and
+     * {@link #iterator()} is read-only.
+     *
+     * @param compactionThreshold fraction of marked elements that triggers compaction, in (0, 1)
+     */
+    public PriorityArrayListHeap(int initialCapacity, Comparator<? super T> comparator,
+                                 double compactionThreshold) {
+        this(new ArrayList<>(initialCapacity), comparator, compactionThreshold);
+        if (!(compactionThreshold > 0 && compactionThreshold < 1)) {
+            throw new IllegalArgumentException("Illegal compaction threshold: " + compactionThreshold);
+        }
+    }
+
     private PriorityArrayListHeap(List<T> heap, Comparator<? super T> comparator) {
+        this(heap, comparator, 0);
+    }
+
+    private PriorityArrayListHeap(List<T> heap, Comparator<? super T> comparator, double compactionThreshold) {
         if (comparator == null) {
             comparator = (Comparator<T>) (l, r) -> ((Comparable<? super T>) l).compareTo(r);
         }
         this.heap = heap;
         this.comparator = comparator;
+        this.compactionThreshold = compactionThreshold;
+        this.occurrences = compactionThreshold > 0 ? new IdentityHashMap<>() : null;
     }
 
 
     @Override
     public Iterator<T> iterator() {
-        return heap.iterator();
+        if (occurrences == null) {
+            return heap.iterator();
+        }
+        compact();
+        return Collections.unmodifiableList(heap).iterator();
+    }
+
+    /**
+     * Iterates over the elements in priority order without removing them, unlike
+     * {@link #iterator()} which follows the heap layout.
+     */
+    public Iterator<T> sortedIterator() {
+        compact();
+        return new SortedHeapIterator<>(heap::get, size(), comparator);
+    }
+
+    public Stream<T> sortedStream() {
+        return StreamSupport.stream(Spliterators.spliterator(sortedIterator(), size(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Returns the spliterator of the backing list without {@link Spliterator#ORDERED}: the
+     * heap layout carries no meaningful encounter order, so parallel streams may skip
+     * order-preserving work.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        compact();
+        return new UnorderedSpliterator<>(heap.spliterator());
     }
 
     @Override
     public int size() {
-        return heap.size();
+        return heap.size() - tombstones;
+    }
+
+    /**
+     * Returns the number of lazily removed elements still stored in the heap.
+     */
+    public int tombstones() {
+        return tombstones;
     }
 
     @Override
     public boolean offer(T t) {
         if (t == null) throw new NullPointerException();
         heap.add(t);
-        siftUp(size() - 1, t);
+        siftUp(heap.size() - 1, t);
+        track(t);
         return true;
     }
 
+    @Override
+    public boolean addAll(Collection<? extends T> collection) {
+        if (collection == this) throw new IllegalArgumentException();
+        int oldSize = heap.size();
+        heap.addAll(collection);
+        return heapifyAppended(oldSize);
+    }
+
+    public boolean addAll(T[] elements) {
+        return addAll(Arrays.asList(elements));
+    }
+
+    public boolean addAll(Spliterator<? extends T> spliterator) {
+        int oldSize = heap.size();
+        long expectedSize = spliterator.getExactSizeIfKnown();
+        if (expectedSize > 0 && expectedSize <= Integer.MAX_VALUE - oldSize
+                && heap instanceof ArrayList<T> list) {
+            list.ensureCapacity(oldSize + (int) expectedSize);
+        }
+        try {
+            spliterator.forEachRemaining(heap::add);
+        } catch (RuntimeException e) {
+            heap.subList(oldSize, heap.size()).clear();
+            throw e;
+        }
+        return heapifyAppended(oldSize);
+    }
+
+    private boolean heapifyAppended(int oldSize) {
+        int size = heap.size();
+        for (int i = oldSize; i < size; i++) {
+            if (heap.get(i) == null) {
+                heap.subList(oldSize, size).clear();
+                throw new NullPointerException();
+            }
+        }
+        for (int i = oldSize; i < size; i++) {
+            track(heap.get(i));
+        }
+        int appended = size - oldSize;
+        if (appended >= oldSize) {
+            heapify();
+        } else {
+            for (int i = oldSize; i < size; i++) {
+                siftUp(i, heap.get(i));
+            }
+        }
+        return appended > 0;
+    }
+
+    private void heapify() {
+        for (int i = (heap.size() >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, heap.get(i));
+        }
+    }
+
     @Override
     public T poll() {
+        dropRemovedHead();
         if (heap.isEmpty()) {
             return null;
         }
+        T entity = removeHead();
+        untrack(entity);
+        compactIfNeeded();
+        return entity;
+    }
+
+    private T removeHead() {
         T entity = heap.get(0);
-        int lastElementIndex = size() - 1;
+        int lastElementIndex = heap.size() - 1;
         T x = heap.get(lastElementIndex);
         heap.remove(lastElementIndex);
-        if (size() > 0) {
+        if (lastElementIndex > 0) {
             siftDown(0, x);
         }
         return entity;
     }
 
 
+    @Override
+    public T replaceTop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        dropRemovedHead();
+        if (heap.isEmpty()) {
+            offer(entity);
+            return null;
+        }
+        T top = heap.get(0);
+        siftDown(0, entity);
+        untrack(top);
+        track(entity);
+        return top;
+    }
+
+    @Override
+    public T pushPop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        dropRemovedHead();
+        if (heap.isEmpty() || comparator.compare(entity, heap.get(0)) <= 0) {
+            return entity;
+        }
+        T top = heap.get(0);
+        siftDown(0, entity);
+        untrack(top);
+        track(entity);
+        return top;
+    }
+
+    @Override
+    public int poll(int n, Collection<? super T> sink) {
+        if (n < 0) throw new IllegalArgumentException("Negative count: " + n);
+        int count = Math.min(n, size());
+        if (count == 0) {
+            return 0;
+        }
+        if (isBulkPoll(count)) {
+            compact();
+            heap.sort(comparator);
+            List<T> prefix = heap.subList(0, count);
+            sink.addAll(prefix);
+            prefix.forEach(this::untrack);
+            prefix.clear();
+        } else {
+            for (int i = 0; i < count; i++) {
+                sink.add(poll());
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int drainTo(T[] dest) {
+        int count = Math.min(dest.length, size());
+        if (count == 0) {
+            return 0;
+        }
+        if (isBulkPoll(count)) {
+            compact();
+            heap.sort(comparator);
+            List<T> prefix = heap.subList(0, count);
+            for (int i = 0; i < count; i++) {
+                dest[i] = prefix.get(i);
+                untrack(dest[i]);
+            }
+            prefix.clear();
+        } else {
+            for (int i = 0; i < count; i++) {
+                dest[i] = poll();
+            }
+        }
+        return count;
+    }
+
+    private boolean isBulkPoll(int count) {
+        return count >= size() >>> 1;
+    }
+
     @Override
     public T peek() {
+        dropRemovedHead();
         return heap.isEmpty() ? null : heap.get(0);
     }
 
@@ -92,7 +312,7 @@ public class PriorityArrayListHeap<T> extends AbstractQueue<T> implements Priori
     }
 
     private void siftDown(int i, T x) {
-        int half = size() >>> 1;
+        int half = heap.size() >>> 1;
         while (i < half) {
             int child = getLeftChildIndex(i);
             int right = getRightChildIndex(i);
@@ -127,8 +347,15 @@ public class PriorityArrayListHeap<T> extends AbstractQueue<T> implements Priori
     }
 
 
+    /**
+     * Removes a single instance of {@code o}. With lazy deletion the instance is matched by
+     * identity and only marked as removed.
+     */
     @Override
     public boolean remove(Object o) {
+        if (occurrences != null) {
+            return removeLazily(o);
+        }
         int i = this.heap.indexOf(o);
         if (i == -1)
             return false;
@@ -139,7 +366,7 @@ public class PriorityArrayListHeap<T> extends AbstractQueue<T> implements Priori
     }
 
     private void removeAt(int i) {
-        int s = size() - 1;
+        int s = heap.size() - 1;
         if (i == s) {
             heap.remove(i);
         } else {
@@ -152,4 +379,120 @@ public class PriorityArrayListHeap<T> extends AbstractQueue<T> implements Priori
         }
     }
 
+    private boolean removeLazily(Object o) {
+        Occurrences occurrence = occurrences.get(o);
+        if (occurrence == null || occurrence.live == 0) {
+            return false;
+        }
+        occurrence.live--;
+        occurrence.removed++;
+        tombstones++;
+        compactIfNeeded();
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones > compactionThreshold * heap.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops lazily removed elements and restores the heap order in O(n). Does nothing if
+     * nothing has been removed lazily.
+     */
+    public void compact() {
+        if (tombstones == 0) {
+            return;
+        }
+        int n = heap.size();
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            T entity = heap.get(i);
+            Occurrences occurrence = occurrences.get(entity);
+            if (occurrence.removed > 0) {
+                occurrence.removed--;
+                forgetIfAbsent(entity, occurrence);
+            } else {
+                heap.set(kept++, entity);
+            }
+        }
+        heap.subList(kept, n).clear();
+        tombstones = 0;
+        heapify();
+    }
+
+    private void dropRemovedHead() {
+        while (tombstones > 0) {
+            T head = heap.get(0);
+            Occurrences occurrence = occurrences.get(head);
+            if (occurrence.removed == 0) {
+                return;
+            }
+            occurrence.removed--;
+            tombstones--;
+            forgetIfAbsent(head, occurrence);
+            removeHead();
+        }
+    }
+
+    private void track(T entity) {
+        if (occurrences != null) {
+            occurrences.computeIfAbsent(entity, e -> new Occurrences()).live++;
+        }
+    }
+
+    private void untrack(T entity) {
+        if (occurrences != null) {
+            Occurrences occurrence = occurrences.get(entity);
+            occurrence.live--;
+            forgetIfAbsent(entity, occurrence);
+        }
+    }
+
+    private void forgetIfAbsent(T entity, Occurrences occurrence) {
+        if (occurrence.live == 0 && occurrence.removed == 0) {
+            occurrences.remove(entity);
+        }
+    }
+
+    private static final class Occurrences {
+        private int live;
+        private int removed;
+    }
+
+    private static final class UnorderedSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<T> spliterator;
+
+        private UnorderedSpliterator(Spliterator<T> spliterator) {
+            this.spliterator = spliterator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return spliterator.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            spliterator.forEachRemaining(action);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> prefix = spliterator.trySplit();
+            return prefix == null ? null : new UnorderedSpliterator<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return spliterator.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return (spliterator.characteristics() & ~Spliterator.ORDERED) | Spliterator.NONNULL;
+        }
+    }
+
 }
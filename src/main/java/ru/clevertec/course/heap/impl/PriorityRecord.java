@@ -0,0 +1,28 @@
+package ru.clevertec.course.heap.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 16-byte record of a priority and a payload id, laid out as two consecutive longs.
+ */
+public record PriorityRecord(long priority, long payload) {
+    public static final RecordLayout<PriorityRecord> LAYOUT = new RecordLayout<>() {
+        @Override
+        public int recordSize() {
+            return Long.BYTES * 2;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, PriorityRecord entity) {
+            buffer.putLong(offset, entity.priority);
+            buffer.putLong(offset + Long.BYTES, entity.payload);
+        }
+
+        @Override
+        public PriorityRecord read(ByteBuffer buffer, int offset) {
+            return new PriorityRecord(buffer.getLong(offset), buffer.getLong(offset + Long.BYTES));
+        }
+    };
+
+    public static final RecordKeyExtractor PRIORITY = ByteBuffer::getLong;
+}
@@ -0,0 +1,133 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+/**
+ * Monotone radix heap keyed by a {@code long} extracted from every element. Element {@code x}
+ * lives in the bucket of the highest bit in which its key differs from the last polled key,
+ * so {@code add} is O(1) and {@code poll} is amortized O(1) plus the redistribution of one
+ * bucket, which every element goes through at most 64 times.
+ * <p>
+ * Keys must never go below the last polled key: such an {@code add} throws
+ * {@link IllegalArgumentException}. Elements with equal keys are polled in no particular order.
+ */
+@SuppressWarnings("unchecked")
+public class RadixPriorityHeap<T> implements PriorityHeap<T> {
+    private static final int BUCKETS = Long.SIZE + 1;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+    private final ToLongFunction<? super T> keyExtractor;
+    private final Object[][] elements = new Object[BUCKETS][];
+    private final long[][] keys = new long[BUCKETS][];
+    private final int[] sizes = new int[BUCKETS];
+    private long last = Long.MIN_VALUE;
+    private int size;
+
+    public RadixPriorityHeap(ToLongFunction<? super T> keyExtractor) {
+        if (keyExtractor == null) throw new NullPointerException();
+        this.keyExtractor = keyExtractor;
+        for (int i = 0; i < BUCKETS; i++) {
+            elements[i] = new Object[INITIAL_BUCKET_CAPACITY];
+            keys[i] = new long[INITIAL_BUCKET_CAPACITY];
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the key of the last polled element, the lower bound for keys of new elements.
+     */
+    public long lastKey() {
+        return last;
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        long key = keyExtractor.applyAsLong(t);
+        if (key < last) {
+            throw new IllegalArgumentException("Key " + key + " is below the last polled key " + last);
+        }
+        push(bucketOf(key), t, key);
+        size++;
+        return true;
+    }
+
+    @Override
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        if (sizes[0] == 0) {
+            redistribute(firstNonEmptyBucket());
+        }
+        int i = --sizes[0];
+        T entity = (T) elements[0][i];
+        elements[0][i] = null;
+        size--;
+        return entity;
+    }
+
+    @Override
+    public T peek() {
+        if (size == 0) {
+            return null;
+        }
+        if (sizes[0] != 0) {
+            return (T) elements[0][sizes[0] - 1];
+        }
+        int bucket = firstNonEmptyBucket();
+        return (T) elements[bucket][minIndex(bucket)];
+    }
+
+    private int bucketOf(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private int firstNonEmptyBucket() {
+        int bucket = 1;
+        while (sizes[bucket] == 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private int minIndex(int bucket) {
+        long[] bucketKeys = keys[bucket];
+        int min = 0;
+        for (int i = 1, n = sizes[bucket]; i < n; i++) {
+            if (bucketKeys[i] < bucketKeys[min]) {
+                min = i;
+            }
+        }
+        return min;
+    }
+
+    private void redistribute(int bucket) {
+        Object[] bucketElements = elements[bucket];
+        long[] bucketKeys = keys[bucket];
+        int n = sizes[bucket];
+        last = bucketKeys[minIndex(bucket)];
+        sizes[bucket] = 0;
+        for (int i = 0; i < n; i++) {
+            push(bucketOf(bucketKeys[i]), (T) bucketElements[i], bucketKeys[i]);
+            bucketElements[i] = null;
+        }
+    }
+
+    private void push(int bucket, T t, long key) {
+        int i = sizes[bucket]++;
+        if (i >= elements[bucket].length) {
+            elements[bucket] = Arrays.copyOf(elements[bucket], i << 1);
+            keys[bucket] = Arrays.copyOf(keys[bucket], i << 1);
+        }
+        elements[bucket][i] = t;
+        keys[bucket][i] = key;
+    }
+
+}
@@ -0,0 +1,12 @@
+package ru.clevertec.course.heap.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the sort key of a record in place, without materializing the element.
+ * Smaller keys have higher priority.
+ */
+@FunctionalInterface
+public interface RecordKeyExtractor {
+    long key(ByteBuffer buffer, int offset);
+}
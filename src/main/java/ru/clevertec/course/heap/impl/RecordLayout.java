@@ -0,0 +1,14 @@
+package ru.clevertec.course.heap.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-width binary representation of an element stored outside the Java heap.
+ */
+public interface RecordLayout<T> {
+    int recordSize();
+
+    void write(ByteBuffer buffer, int offset, T entity);
+
+    T read(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,91 @@
+package ru.clevertec.course.heap.impl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Non-destructive iterator over an implicit binary heap in priority order. It keeps a small
+ * frontier heap of indices whose parents have already been returned, so producing the first
+ * {@code k} elements costs O(k log k) and the frontier never holds more than {@code k + 1}
+ * indices. The heap must not be modified while the iterator is in use.
+ */
+final class SortedHeapIterator<T> implements Iterator<T> {
+    private final IntFunction<T> elementAt;
+    private final int size;
+    private final Comparator<? super T> comparator;
+    private int[] frontier = new int[8];
+    private int frontierSize;
+
+    SortedHeapIterator(IntFunction<T> elementAt, int size, Comparator<? super T> comparator) {
+        this.elementAt = elementAt;
+        this.size = size;
+        this.comparator = comparator;
+        this.frontierSize = size > 0 ? 1 : 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return frontierSize > 0;
+    }
+
+    @Override
+    public T next() {
+        if (frontierSize == 0) {
+            throw new NoSuchElementException();
+        }
+        int top = frontier[0];
+        int left = top * 2 + 1;
+        if (left < size) {
+            siftDown(0, left);
+            if (left + 1 < size) {
+                push(left + 1);
+            }
+        } else {
+            int last = frontier[--frontierSize];
+            if (frontierSize > 0) {
+                siftDown(0, last);
+            }
+        }
+        return elementAt.apply(top);
+    }
+
+    private void push(int index) {
+        int i = frontierSize++;
+        if (i >= frontier.length) {
+            frontier = Arrays.copyOf(frontier, i << 1);
+        }
+        T x = elementAt.apply(index);
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (comparator.compare(x, elementAt.apply(frontier[parent])) >= 0) {
+                break;
+            }
+            frontier[i] = frontier[parent];
+            i = parent;
+        }
+        frontier[i] = index;
+    }
+
+    private void siftDown(int i, int index) {
+        T x = elementAt.apply(index);
+        int half = frontierSize >>> 1;
+        while (i < half) {
+            int child = i * 2 + 1;
+            int right = child + 1;
+            if (right < frontierSize && comparator.compare(
+                    elementAt.apply(frontier[child]), elementAt.apply(frontier[right])) > 0) {
+                child = right;
+            }
+            if (comparator.compare(x, elementAt.apply(frontier[child])) <= 0) {
+                break;
+            }
+            frontier[i] = frontier[child];
+            i = child;
+        }
+        frontier[i] = index;
+    }
+
+}
@@ -0,0 +1,180 @@
+package ru.clevertec.course.heap.impl;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Fixed-capacity heap that retains only the {@code k} greatest elements seen. The root is
+ * the smallest retained element, so once the heap is full a new element is rejected with a
+ * single comparison against it, or replaces it with a single sift down.
+ * {@link #peek()} and {@link #poll()} return that smallest retained element.
+ */
+@SuppressWarnings("unchecked")
+public class TopKPriorityHeap<T> implements PriorityHeap<T> {
+    private final T[] heap;
+    private int size;
+    private boolean sorted;
+
+    private final Comparator<? super T> comparator;
+
+    public TopKPriorityHeap(int k) {
+        this(k, null);
+    }
+
+    public TopKPriorityHeap(int k, Comparator<? super T> comparator) {
+        if (k < 1) throw new IllegalArgumentException("Illegal capacity: " + k);
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.comparator = comparator;
+        this.heap = (T[]) new Object[k];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Returns {@code true} if the element was retained, possibly evicting the smallest
+     * retained element, and {@code false} if it was rejected.
+     */
+    @Override
+    public boolean add(T t) {
+        if (t == null) throw new NullPointerException();
+        restoreHeap();
+        if (size < heap.length) {
+            siftUp(size++, t);
+            return true;
+        }
+        if (comparator.compare(t, heap[0]) <= 0) {
+            return false;
+        }
+        siftDown(0, t, size);
+        return true;
+    }
+
+    @Override
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        restoreHeap();
+        T entity = heap[0];
+        int lastElementIndex = --size;
+        T x = heap[lastElementIndex];
+        heap[lastElementIndex] = null;
+        if (lastElementIndex > 0) {
+            siftDown(0, x, lastElementIndex);
+        }
+        return entity;
+    }
+
+    @Override
+    public T peek() {
+        if (size == 0) {
+            return null;
+        }
+        return sorted ? heap[size - 1] : heap[0];
+    }
+
+    /**
+     * Replaces the smallest retained element with {@code entity}, keeping the size.
+     */
+    @Override
+    public T replaceTop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        if (size == 0) {
+            add(entity);
+            return null;
+        }
+        restoreHeap();
+        T top = heap[0];
+        siftDown(0, entity, size);
+        return top;
+    }
+
+    /**
+     * Returns {@code entity} if it would not be retained, otherwise evicts and returns the
+     * smallest retained element, keeping the size.
+     */
+    @Override
+    public T pushPop(T entity) {
+        if (entity == null) throw new NullPointerException();
+        restoreHeap();
+        if (size == 0 || comparator.compare(entity, heap[0]) <= 0) {
+            return entity;
+        }
+        T top = heap[0];
+        siftDown(0, entity, size);
+        return top;
+    }
+
+    /**
+     * Sorts the retained elements in place, greatest first, and returns a read-only view of
+     * them. The view is backed by the heap and is only valid until the next mutation, which
+     * restores the heap order in O(k).
+     */
+    public List<T> sortedResult() {
+        if (!sorted) {
+            for (int end = size - 1; end > 0; end--) {
+                T x = heap[end];
+                heap[end] = heap[0];
+                siftDown(0, x, end);
+            }
+            sorted = true;
+        }
+        return Collections.unmodifiableList(Arrays.asList(heap).subList(0, size));
+    }
+
+    private void restoreHeap() {
+        if (sorted) {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                T temp = heap[i];
+                heap[i] = heap[j];
+                heap[j] = temp;
+            }
+            sorted = false;
+        }
+    }
+
+    private void siftDown(int i, T x, int n) {
+        int half = n >>> 1;
+        while (i < half) {
+            int child = i * 2 + 1;
+            int right = child + 1;
+            if (right < n &&
+                    comparator.compare(heap[child], heap[right]) > 0) {
+                child = right;
+            }
+            if (comparator.compare(x, heap[child]) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = x;
+    }
+
+    private void siftUp(int i, T x) {
+        while (i > 0) {
+            int parentIndex = (i - 1) / 2;
+            T e = heap[parentIndex];
+            if (comparator.compare(x, e) >= 0) {
+                break;
+            }
+            heap[i] = e;
+            i = parentIndex;
+        }
+        heap[i] = x;
+    }
+
+}
@@ -0,0 +1,171 @@
+package ru.clevertec.course.heap.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+
+/**
+ * Hot-path counters of a single heap instance. Collection is switched on for the whole JVM
+ * with {@code -Dru.clevertec.course.heap.metrics=true}; {@link #ENABLED} is a static final
+ * constant, so with the property unset the JIT folds every recording call away.
+ * <p>
+ * A heap instance is not thread-safe, so counters are plain fields with a single writer:
+ * a volatile write per comparison would cost more than the comparison itself. Values read
+ * through JMX from another thread may therefore be slightly stale.
+ */
+public final class HeapMetrics implements HeapMetricsMXBean {
+    public static final boolean ENABLED = Boolean.getBoolean("ru.clevertec.course.heap.metrics");
+    private static final String DOMAIN = "ru.clevertec.course.heap";
+
+    private long adds;
+    private long polls;
+    private long comparisons;
+    private long siftUps;
+    private long siftUpLevels;
+    private long siftDowns;
+    private long siftDownLevels;
+    private long resizes;
+    private long bytesCopied;
+    private int highWaterMark;
+
+    public <T> Comparator<T> counting(Comparator<? super T> comparator) {
+        return (l, r) -> {
+            comparisons++;
+            return comparator.compare(l, r);
+        };
+    }
+
+    public void recordAdd(int size) {
+        adds++;
+        if (size > highWaterMark) {
+            highWaterMark = size;
+        }
+    }
+
+    public void recordAdds(int count, int size) {
+        adds += count;
+        if (size > highWaterMark) {
+            highWaterMark = size;
+        }
+    }
+
+    public void recordPoll(int count) {
+        polls += count;
+    }
+
+    public void recordSiftUp(int levels) {
+        siftUps++;
+        siftUpLevels += levels;
+    }
+
+    public void recordSiftDown(int levels) {
+        siftDowns++;
+        siftDownLevels += levels;
+    }
+
+    public void recordResize(int copiedReferences) {
+        resizes++;
+        bytesCopied += (long) copiedReferences * ReferenceSize.BYTES;
+    }
+
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=PriorityHeap,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (MalformedObjectNameException | InstanceAlreadyExistsException
+                 | MBeanRegistrationException | NotCompliantMBeanException e) {
+            throw new IllegalArgumentException("Cannot register heap metrics as " + name, e);
+        }
+    }
+
+    public static void unregister(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (InstanceNotFoundException | MBeanRegistrationException e) {
+            throw new IllegalArgumentException("Cannot unregister heap metrics " + objectName, e);
+        }
+    }
+
+    @Override
+    public long getAdds() {
+        return adds;
+    }
+
+    @Override
+    public long getPolls() {
+        return polls;
+    }
+
+    @Override
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    @Override
+    public long getSiftUps() {
+        return siftUps;
+    }
+
+    @Override
+    public long getSiftUpLevels() {
+        return siftUpLevels;
+    }
+
+    @Override
+    public double getAverageSiftUpDepth() {
+        long count = siftUps;
+        return count == 0 ? 0 : (double) siftUpLevels / count;
+    }
+
+    @Override
+    public long getSiftDowns() {
+        return siftDowns;
+    }
+
+    @Override
+    public long getSiftDownLevels() {
+        return siftDownLevels;
+    }
+
+    @Override
+    public double getAverageSiftDownDepth() {
+        long count = siftDowns;
+        return count == 0 ? 0 : (double) siftDownLevels / count;
+    }
+
+    @Override
+    public long getResizes() {
+        return resizes;
+    }
+
+    @Override
+    public long getBytesCopied() {
+        return bytesCopied;
+    }
+
+    @Override
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    @Override
+    public void reset() {
+        adds = 0;
+        polls = 0;
+        comparisons = 0;
+        siftUps = 0;
+        siftUpLevels = 0;
+        siftDowns = 0;
+        siftDownLevels = 0;
+        resizes = 0;
+        bytesCopied = 0;
+        highWaterMark = 0;
+    }
+
+}
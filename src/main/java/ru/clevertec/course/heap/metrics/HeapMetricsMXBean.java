@@ -0,0 +1,29 @@
+package ru.clevertec.course.heap.metrics;
+
+public interface HeapMetricsMXBean {
+    long getAdds();
+
+    long getPolls();
+
+    long getComparisons();
+
+    long getSiftUps();
+
+    long getSiftUpLevels();
+
+    double getAverageSiftUpDepth();
+
+    long getSiftDowns();
+
+    long getSiftDownLevels();
+
+    double getAverageSiftDownDepth();
+
+    long getResizes();
+
+    long getBytesCopied();
+
+    int getHighWaterMark();
+
+    void reset();
+}
@@ -0,0 +1,26 @@
+package ru.clevertec.course.heap.metrics;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Size of an object reference in this JVM, read from the {@code UseCompressedOops} VM flag.
+ * Falls back to 8 bytes when the flag cannot be read, e.g. on a non-HotSpot VM.
+ */
+public final class ReferenceSize {
+    public static final int BYTES = detect();
+
+    private ReferenceSize() {
+    }
+
+    private static int detect() {
+        try {
+            HotSpotDiagnosticMXBean diagnostic = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(diagnostic.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+        } catch (RuntimeException | LinkageError e) {
+            return 8;
+        }
+    }
+
+}
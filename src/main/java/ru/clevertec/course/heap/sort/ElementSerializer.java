@@ -0,0 +1,14 @@
+package ru.clevertec.course.heap.sort;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary representation of an element spilled to a run file by {@link ExternalSorter}.
+ */
+public interface ElementSerializer<T> {
+    void write(DataOutput out, T entity) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
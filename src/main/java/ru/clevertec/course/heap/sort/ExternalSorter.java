@@ -0,0 +1,235 @@
+package ru.clevertec.course.heap.sort;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * External merge sort on top of {@link ru.clevertec.course.heap.impl.PriorityArrayHeap}.
+ * <p>
+ * The input is cut into runs of {@code runSize} elements that are sorted and spilled to temp
+ * files on a fork-join pool while the caller keeps reading; at most
+ * {@code pool.getParallelism()} runs are in flight, so memory stays bounded by roughly
+ * {@code (parallelism + 1) * runSize} elements. Runs are then merged {@code fanIn} at a time,
+ * in parallel, until at most {@code fanIn} remain, and the last merge is streamed lazily
+ * through a {@link SortedIterator}. Input that fits into a single run never touches the disk.
+ */
+@SuppressWarnings("unchecked")
+public class ExternalSorter<T> {
+    private static final int DEFAULT_RUN_SIZE = 1 << 16;
+    private static final int DEFAULT_FAN_IN = 64;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String RUN_PREFIX = "heap-run-";
+    private static final String RUN_SUFFIX = ".tmp";
+
+    private final Comparator<? super T> comparator;
+    private final ElementSerializer<T> serializer;
+    private final int runSize;
+    private final int fanIn;
+    private final Path tempDirectory;
+    private final ForkJoinPool pool;
+
+    public ExternalSorter(Comparator<? super T> comparator, ElementSerializer<T> serializer) {
+        this(comparator, serializer, DEFAULT_RUN_SIZE, DEFAULT_FAN_IN,
+                Path.of(System.getProperty("java.io.tmpdir")), ForkJoinPool.commonPool());
+    }
+
+    public ExternalSorter(Comparator<? super T> comparator, ElementSerializer<T> serializer,
+                          int runSize, int fanIn, Path tempDirectory, ForkJoinPool pool) {
+        if (runSize < 1) throw new IllegalArgumentException("Illegal run size: " + runSize);
+        if (fanIn < 2) throw new IllegalArgumentException("Illegal fan-in: " + fanIn);
+        if (serializer == null || tempDirectory == null || pool == null) throw new NullPointerException();
+        if (comparator == null) {
+            comparator = (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+        this.pool = pool;
+    }
+
+    /**
+     * Sorts {@code input} and returns an iterator over the result. The caller must close the
+     * iterator to delete run files that were not read to the end.
+     */
+    public SortedIterator<T> sort(Iterator<? extends T> input) throws IOException {
+        T[] chunk = (T[]) new Object[runSize];
+        int n = fill(input, chunk);
+        if (!input.hasNext()) {
+            Arrays.sort(chunk, 0, n, comparator);
+            return new SortedIterator<>(List.of(new RunCursor.ArrayCursor<>(chunk, n)), comparator);
+        }
+        List<Run> runs = new ArrayList<>();
+        Deque<ForkJoinTask<Run>> pending = new ArrayDeque<>();
+        try {
+            while (n > 0) {
+                if (pending.size() >= pool.getParallelism()) {
+                    runs.add(pending.removeFirst().join());
+                }
+                T[] sortable = chunk;
+                int size = n;
+                pending.addLast(pool.submit(() -> spill(sortable, size)));
+                chunk = (T[]) new Object[runSize];
+                n = fill(input, chunk);
+            }
+            while (!pending.isEmpty()) {
+                runs.add(pending.removeFirst().join());
+            }
+            runs = mergePasses(runs);
+            return open(runs);
+        } catch (IOException | RuntimeException e) {
+            for (ForkJoinTask<Run> task : pending) {
+                task.quietlyJoin();
+                if (task.isCompletedNormally()) {
+                    runs.add(task.getRawResult());
+                }
+            }
+            delete(runs, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Sorts {@code input} into a lazily merged stream. Closing the returned stream closes
+     * {@code input} and deletes the remaining run files.
+     */
+    public Stream<T> sort(Stream<? extends T> input) throws IOException {
+        SortedIterator<T> iterator = sort(input.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .onClose(input::close);
+    }
+
+    private int fill(Iterator<? extends T> input, T[] chunk) {
+        int n = 0;
+        while (n < chunk.length && input.hasNext()) {
+            T entity = input.next();
+            if (entity == null) throw new NullPointerException();
+            chunk[n++] = entity;
+        }
+        return n;
+    }
+
+    private Run spill(T[] chunk, int size) {
+        Arrays.sort(chunk, 0, size, comparator);
+        try {
+            return write(Arrays.asList(chunk).subList(0, size).iterator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Run> mergePasses(List<Run> runs) throws IOException {
+        while (runs.size() > fanIn) {
+            List<ForkJoinTask<Run>> merges = new ArrayList<>();
+            for (int from = 0; from < runs.size(); from += fanIn) {
+                List<Run> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                merges.add(pool.submit(() -> merge(group)));
+            }
+            List<Run> merged = new ArrayList<>(merges.size());
+            RuntimeException failure = null;
+            for (ForkJoinTask<Run> task : merges) {
+                try {
+                    merged.add(task.join());
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                delete(merged, failure);
+                delete(runs, failure);
+                throw failure;
+            }
+            runs = merged;
+        }
+        return runs;
+    }
+
+    private Run merge(List<Run> group) {
+        if (group.size() == 1) {
+            return group.get(0);
+        }
+        try (SortedIterator<T> iterator = open(group)) {
+            return write(iterator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SortedIterator<T> open(List<Run> runs) throws IOException {
+        List<RunCursor<T>> cursors = new ArrayList<>(runs.size());
+        try {
+            for (Run run : runs) {
+                cursors.add(new RunCursor.FileCursor<>(run.file(), run.count(), serializer, BUFFER_SIZE));
+            }
+            return new SortedIterator<>(cursors, comparator);
+        } catch (IOException | RuntimeException e) {
+            for (RunCursor<T> cursor : cursors) {
+                try {
+                    cursor.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private Run write(Iterator<? extends T> sorted) throws IOException {
+        Path file = Files.createTempFile(tempDirectory, RUN_PREFIX, RUN_SUFFIX);
+        long count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Channels.newOutputStream(FileChannel.open(file, StandardOpenOption.WRITE)), BUFFER_SIZE))) {
+            while (sorted.hasNext()) {
+                serializer.write(out, sorted.next());
+                count++;
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new Run(file, count);
+    }
+
+    private static void delete(List<Run> runs, Exception failure) {
+        for (Run run : runs) {
+            try {
+                Files.deleteIfExists(run.file());
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    private record Run(Path file, long count) {
+    }
+
+}
@@ -0,0 +1,83 @@
+package ru.clevertec.course.heap.sort;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Position in one sorted run. {@link #head} is valid after {@link #advance()} returned
+ * {@code true}.
+ */
+abstract class RunCursor<T> implements Closeable {
+    T head;
+
+    abstract boolean advance() throws IOException;
+
+    static final class ArrayCursor<T> extends RunCursor<T> {
+        private final T[] elements;
+        private final int size;
+        private int position;
+
+        ArrayCursor(T[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        boolean advance() {
+            if (position == size) {
+                head = null;
+                return false;
+            }
+            head = elements[position];
+            elements[position++] = null;
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    static final class FileCursor<T> extends RunCursor<T> {
+        private final Path file;
+        private final ElementSerializer<T> serializer;
+        private final DataInputStream in;
+        private long remaining;
+
+        FileCursor(Path file, long count, ElementSerializer<T> serializer, int bufferSize) throws IOException {
+            this.file = file;
+            this.serializer = serializer;
+            this.remaining = count;
+            this.in = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ)), bufferSize));
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+            head = serializer.read(in);
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                in.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+}
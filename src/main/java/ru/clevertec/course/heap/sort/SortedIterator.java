@@ -0,0 +1,82 @@
+package ru.clevertec.course.heap.sort;
+
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Result of {@link ExternalSorter#sort}: merges the remaining runs with a
+ * {@link PriorityArrayHeap} of run cursors, advancing the head cursor with
+ * {@code replaceTop}. {@link #close()} deletes every run file that has not been fully read.
+ */
+public final class SortedIterator<T> implements Iterator<T>, Closeable {
+    private final List<RunCursor<T>> cursors;
+    private final PriorityArrayHeap<RunCursor<T>> heap;
+
+    SortedIterator(List<RunCursor<T>> cursors, Comparator<? super T> comparator) throws IOException {
+        this.cursors = cursors;
+        this.heap = new PriorityArrayHeap<>(Math.max(cursors.size(), 1),
+                (l, r) -> comparator.compare(l.head, r.head));
+        for (RunCursor<T> cursor : cursors) {
+            if (cursor.advance()) {
+                heap.add(cursor);
+            } else {
+                cursor.close();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return heap.size() > 0;
+    }
+
+    @Override
+    public T next() {
+        RunCursor<T> cursor = heap.peek();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        T entity = cursor.head;
+        try {
+            if (cursor.advance()) {
+                heap.replaceTop(cursor);
+            } else {
+                heap.poll();
+                cursor.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (RunCursor<T> cursor : cursors) {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        while (heap.size() > 0) {
+            heap.poll();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+}
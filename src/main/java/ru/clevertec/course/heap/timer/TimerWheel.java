@@ -0,0 +1,322 @@
+package ru.clevertec.course.heap.timer;
+
+import ru.clevertec.course.heap.impl.IndexedPriorityArrayHeap;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * Hashed hierarchical timing wheel for deadlines that are mostly cancelled before they fire.
+ * Time is an arbitrary {@code long} clock, such as {@link System#nanoTime()}, divided into
+ * ticks of {@code tickDuration}.
+ * <p>
+ * Each of the {@code levels} wheels has 256 slots, and a slot on level {@code L} spans
+ * {@code 256^L} ticks. A timer goes to the lowest level on which it shares a block with the
+ * current tick. {@link #schedule} and {@link #cancel} are O(1) for such timers. Timers
+ * beyond the top wheel wait in an {@link IndexedPriorityArrayHeap}, with O(log n) cancel,
+ * until the wheel reaches their block. {@link #advanceTo} moves the clock, cascading slots
+ * into lower levels and skipping empty slots through per-level occupancy bitmaps.
+ * <p>
+ * A timer fires no earlier than its deadline and at most one tick later; timers scheduled
+ * at or before the current tick fire on the next {@code advanceTo}. Not thread-safe.
+ */
+public class TimerWheel<T> {
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int DEFAULT_LEVELS = 4;
+    private static final int MAX_LEVELS = 7;
+    private static final int DUE = -1;
+    private static final int OVERFLOW = -2;
+    private static final int FIRING = -3;
+
+    private final long startTime;
+    private final long tickDuration;
+    private final int levels;
+    private final Timeout<T>[][] slots;
+    private final long[][] occupied;
+    private final IndexedPriorityArrayHeap<Timeout<T>> overflow =
+            new IndexedPriorityArrayHeap<>(Comparator.comparingLong(timeout -> timeout.tick));
+    private Timeout<T> due;
+    private long currentTick;
+    private int size;
+
+    public TimerWheel(long startTime, long tickDuration) {
+        this(startTime, tickDuration, DEFAULT_LEVELS);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long startTime, long tickDuration, int levels) {
+        if (tickDuration < 1) throw new IllegalArgumentException("Illegal tick duration: " + tickDuration);
+        if (levels < 1 || levels > MAX_LEVELS) throw new IllegalArgumentException("Illegal level count: " + levels);
+        this.startTime = startTime;
+        this.tickDuration = tickDuration;
+        this.levels = levels;
+        this.slots = (Timeout<T>[][]) new Timeout<?>[levels][SLOTS];
+        this.occupied = new long[levels][SLOTS / Long.SIZE];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the start of the current tick, the latest time the wheel has advanced to.
+     */
+    public long currentTime() {
+        return startTime + currentTick * tickDuration;
+    }
+
+    public Timeout<T> schedule(T payload, long deadline) {
+        if (payload == null) throw new NullPointerException();
+        long elapsed = deadline - startTime;
+        long tick = elapsed <= 0 ? 0 : Math.floorDiv(elapsed - 1, tickDuration) + 1;
+        Timeout<T> timeout = new Timeout<>(this, payload, deadline, tick);
+        place(timeout, false);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending timer of this wheel.
+     *
+     * @return {@code false} if the timer has already fired or been cancelled, or belongs to
+     * another wheel
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.wheel != this || timeout.state != State.PENDING) {
+            return false;
+        }
+        timeout.state = State.CANCELLED;
+        size--;
+        switch (timeout.level) {
+            case FIRING -> {
+            }
+            case OVERFLOW -> overflow.remove(timeout.handle);
+            case DUE -> unlinkDue(timeout);
+            default -> unlink(timeout);
+        }
+        timeout.payload = null;
+        return true;
+    }
+
+    /**
+     * Moves the clock to {@code now} and passes the payload of every timer whose deadline
+     * has been reached to {@code expired}, in tick order.
+     *
+     * @return the number of fired timers
+     */
+    public int advanceTo(long now, Consumer<? super T> expired) {
+        int fired = fire(detachDue(), expired);
+        long target = Math.floorDiv(now - startTime, tickDuration);
+        while (currentTick < target) {
+            currentTick = nextEventTick(target);
+            fired += processTick(expired);
+        }
+        return fired;
+    }
+
+    private void place(Timeout<T> timeout, boolean cascading) {
+        long tick = timeout.tick;
+        if (tick < currentTick || (tick == currentTick && !cascading)) {
+            timeout.level = DUE;
+            timeout.next = due;
+            if (due != null) {
+                due.prev = timeout;
+            }
+            due = timeout;
+            return;
+        }
+        long diff = tick ^ currentTick;
+        int level = diff == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS;
+        if (level >= levels) {
+            timeout.level = OVERFLOW;
+            timeout.handle = overflow.insert(timeout);
+            return;
+        }
+        int slot = (int) (tick >>> (level * SLOT_BITS)) & SLOT_MASK;
+        Timeout<T> head = slots[level][slot];
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        } else {
+            occupied[level][slot >>> 6] |= 1L << slot;
+        }
+        slots[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        int level = timeout.level;
+        int slot = timeout.slot;
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[level][slot] = timeout.next;
+            if (timeout.next == null) {
+                occupied[level][slot >>> 6] &= ~(1L << slot);
+            }
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private void unlinkDue(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            due = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private Timeout<T> detachDue() {
+        Timeout<T> head = due;
+        due = null;
+        markFiring(head);
+        return head;
+    }
+
+    private Timeout<T> detachSlot(int level, int slot) {
+        Timeout<T> head = slots[level][slot];
+        slots[level][slot] = null;
+        occupied[level][slot >>> 6] &= ~(1L << slot);
+        markFiring(head);
+        return head;
+    }
+
+    private static <T> void markFiring(Timeout<T> head) {
+        for (Timeout<T> timeout = head; timeout != null; timeout = timeout.next) {
+            timeout.level = FIRING;
+        }
+    }
+
+    /**
+     * Fires a detached list. Entries cancelled by {@code expired} meanwhile are skipped.
+     */
+    private int fire(Timeout<T> head, Consumer<? super T> expired) {
+        int fired = 0;
+        Timeout<T> timeout = head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            if (timeout.state == State.PENDING) {
+                T payload = timeout.payload;
+                timeout.state = State.EXPIRED;
+                timeout.payload = null;
+                size--;
+                fired++;
+                expired.accept(payload);
+            }
+            timeout = next;
+        }
+        return fired;
+    }
+
+    private int processTick(Consumer<? super T> expired) {
+        int topShift = levels * SLOT_BITS;
+        Timeout<T> top;
+        while ((top = overflow.peek()) != null && top.tick >>> topShift == currentTick >>> topShift) {
+            overflow.poll();
+            top.handle = null;
+            place(top, true);
+        }
+        for (int level = levels - 1; level > 0; level--) {
+            int shift = level * SLOT_BITS;
+            if ((currentTick & ((1L << shift) - 1)) == 0) {
+                int slot = (int) (currentTick >>> shift) & SLOT_MASK;
+                Timeout<T> timeout = detachSlot(level, slot);
+                while (timeout != null) {
+                    Timeout<T> next = timeout.next;
+                    timeout.prev = null;
+                    timeout.next = null;
+                    place(timeout, true);
+                    timeout = next;
+                }
+            }
+        }
+        return fire(detachSlot(0, (int) currentTick & SLOT_MASK), expired);
+    }
+
+    /**
+     * Returns the first tick after the current one, capped at {@code target}, at which a
+     * level-0 slot fires, a higher slot cascades or the overflow heap feeds the wheel.
+     */
+    private long nextEventTick(long target) {
+        long next = target;
+        for (int level = 0; level < levels; level++) {
+            int shift = level * SLOT_BITS;
+            int slot = nextOccupied(level, ((int) (currentTick >>> shift) & SLOT_MASK) + 1);
+            if (slot >= 0) {
+                long blockStart = currentTick >>> (shift + SLOT_BITS) << (shift + SLOT_BITS);
+                next = Math.min(next, blockStart | ((long) slot << shift));
+            }
+        }
+        Timeout<T> top = overflow.peek();
+        if (top != null) {
+            int topShift = levels * SLOT_BITS;
+            next = Math.min(next, top.tick >>> topShift << topShift);
+        }
+        return next;
+    }
+
+    private int nextOccupied(int level, int from) {
+        if (from >= SLOTS) {
+            return -1;
+        }
+        long[] bits = occupied[level];
+        int word = from >>> 6;
+        long w = bits[word] & (-1L << from);
+        while (w == 0) {
+            if (++word == bits.length) {
+                return -1;
+            }
+            w = bits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(w);
+    }
+
+    public enum State {
+        PENDING,
+        EXPIRED,
+        CANCELLED
+    }
+
+    public static final class Timeout<T> {
+        private final TimerWheel<T> wheel;
+        private final long deadline;
+        private final long tick;
+        private T payload;
+        private State state = State.PENDING;
+        private int level;
+        private int slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private IndexedPriorityArrayHeap.Handle<Timeout<T>> handle;
+
+        private Timeout(TimerWheel<T> wheel, T payload, long deadline, long tick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadline = deadline;
+            this.tick = tick;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+
+        public State state() {
+            return state;
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import ru.clevertec.course.heap.PriorityHeap;
+import ru.clevertec.course.heap.impl.BlockingPriorityHeap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockingPriorityHeapTest {
+
+    @Test
+    void givenFullHeap_whenAddOrTimedOffer_thenReject() throws InterruptedException {
+        BlockingPriorityHeap<Integer> priorityHeap = new BlockingPriorityHeap<>(2);
+        assertTrue(priorityHeap.add(3));
+        assertTrue(priorityHeap.offer(1));
+        assertFalse(priorityHeap.add(2));
+        assertFalse(priorityHeap.offer(2, 10, TimeUnit.MILLISECONDS));
+        assertEquals(0, priorityHeap.remainingCapacity());
+        assertEquals(1, priorityHeap.poll());
+        assertEquals(3, priorityHeap.poll());
+    }
+
+    @Test
+    void givenEmptyHeap_whenTimedPoll_thenNull() throws InterruptedException {
+        BlockingPriorityHeap<Integer> priorityHeap = new BlockingPriorityHeap<>(4);
+        assertNull(priorityHeap.poll());
+        assertNull(priorityHeap.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void givenWaitingTaker_whenPut_thenTakeReturns() throws Exception {
+        BlockingPriorityHeap<Integer> priorityHeap = new BlockingPriorityHeap<>(4, Comparator.reverseOrder());
+        CompletableFuture<Integer> taken = CompletableFuture.supplyAsync(() -> {
+            try {
+                return priorityHeap.take();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(taken.isDone());
+        priorityHeap.put(7);
+        assertEquals(7, taken.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenFullHeapAndWaitingPutter_whenDrain_thenPutCompletes() throws Exception {
+        BlockingPriorityHeap<Integer> priorityHeap = new BlockingPriorityHeap<>(2);
+        priorityHeap.put(5);
+        priorityHeap.put(4);
+        CompletableFuture<Void> put = CompletableFuture.runAsync(() -> {
+            try {
+                priorityHeap.put(1);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(put.isDone());
+        List<Integer> sink = new ArrayList<>();
+        assertEquals(2, priorityHeap.poll(2, sink));
+        put.get(5, TimeUnit.SECONDS);
+        assertThat(sink).containsExactly(4, 5);
+        assertEquals(1, priorityHeap.take());
+    }
+
+    @Test
+    void givenProducersAndConsumers_whenTransfer_thenAllElementsDelivered() throws Exception {
+        BlockingPriorityHeap<Integer> priorityHeap = new BlockingPriorityHeap<>(16);
+        int count = 10_000;
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            try {
+                for (int i = 0; i < count; i++) {
+                    priorityHeap.put(i);
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            Integer value = priorityHeap.poll(5, TimeUnit.SECONDS);
+            assertNotNull(value);
+            sum += value;
+        }
+        producer.get(5, TimeUnit.SECONDS);
+        assertEquals((long) count * (count - 1) / 2, sum);
+        assertEquals(0, priorityHeap.size());
+    }
+
+    @Test
+    void givenFullHeap_whenPushPopOrReplaceTop_thenKeepAllElements() {
+        BlockingPriorityHeap<Integer> priorityHeap = new BlockingPriorityHeap<>(2);
+        priorityHeap.add(1);
+        priorityHeap.add(2);
+
+        assertEquals(1, priorityHeap.pushPop(5));
+        assertEquals(0, priorityHeap.pushPop(0));
+        assertEquals(2, priorityHeap.replaceTop(3));
+        assertEquals(2, priorityHeap.size());
+        assertEquals(3, priorityHeap.poll());
+        assertEquals(5, priorityHeap.poll());
+        assertNull(priorityHeap.replaceTop(4));
+        assertEquals(1, priorityHeap.size());
+    }
+
+    @Test
+    void givenFullBoundedHeapWithDefaultMethods_whenPushPopOrReplaceTop_thenKeepAllElements() {
+        BlockingPriorityHeap<Integer> bounded = new BlockingPriorityHeap<>(2);
+        PriorityHeap<Integer> priorityHeap = new PriorityHeap<>() {
+            @Override
+            public boolean add(Integer entity) {
+                return bounded.add(entity);
+            }
+
+            @Override
+            public Integer peek() {
+                return bounded.peek();
+            }
+
+            @Override
+            public Integer poll() {
+                return bounded.poll();
+            }
+
+            @Override
+            public int size() {
+                return bounded.size();
+            }
+        };
+        priorityHeap.add(1);
+        priorityHeap.add(2);
+
+        assertEquals(5, priorityHeap.pushPop(5));
+        assertEquals(2, priorityHeap.size());
+        assertEquals(1, priorityHeap.replaceTop(3));
+        assertEquals(2, priorityHeap.size());
+        assertEquals(2, priorityHeap.poll());
+        assertEquals(3, priorityHeap.poll());
+    }
+
+    @Test
+    void givenIllegalCapacity_whenCreate_thenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new BlockingPriorityHeap<Integer>(0));
+        assertThrows(NullPointerException.class, () -> new BlockingPriorityHeap<Integer>(1).add(null));
+    }
+
+}
@@ -0,0 +1,74 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.impl.ConcurrentSkipListPriorityHeap;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Add-then-poll throughput under contention. Only {@code Threads1} and {@code Threads4} are
+ * declared, to keep the default run short; measure heavier contention with
+ * {@code -t 16} or {@code -t 64} on {@code Threads4}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 2)
+@Fork(value = 1, warmups = 1)
+public abstract class ConcurrentPriorityHeapBenchmark {
+    private static final int PREFILL_COUNT = 100_000;
+    private ConcurrentSkipListPriorityHeap<Integer> skipListHeap;
+    private PriorityBlockingQueue<Integer> blockingQueue;
+    private PriorityArrayHeap<Integer> lockedArrayHeap;
+    private final Object lock = new Object();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        skipListHeap = new ConcurrentSkipListPriorityHeap<>();
+        blockingQueue = new PriorityBlockingQueue<>();
+        lockedArrayHeap = new PriorityArrayHeap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < PREFILL_COUNT; i++) {
+            int value = random.nextInt();
+            skipListHeap.add(value);
+            blockingQueue.add(value);
+            lockedArrayHeap.add(value);
+        }
+    }
+
+    @Benchmark
+    public Integer benchmarkConcurrentSkipListPriorityHeapAddPoll() {
+        skipListHeap.add(ThreadLocalRandom.current().nextInt());
+        return skipListHeap.poll();
+    }
+
+    @Benchmark
+    public Integer benchmarkPriorityBlockingQueueAddPoll() {
+        blockingQueue.add(ThreadLocalRandom.current().nextInt());
+        return blockingQueue.poll();
+    }
+
+    @Benchmark
+    public Integer benchmarkLockedPriorityArrayHeapAddPoll() {
+        int value = ThreadLocalRandom.current().nextInt();
+        synchronized (lock) {
+            lockedArrayHeap.add(value);
+        }
+        synchronized (lock) {
+            return lockedArrayHeap.poll();
+        }
+    }
+
+    @Threads(1)
+    public static class Threads1 extends ConcurrentPriorityHeapBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends ConcurrentPriorityHeapBenchmark {
+    }
+
+}
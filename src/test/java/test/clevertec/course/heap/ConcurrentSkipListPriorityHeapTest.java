@@ -0,0 +1,112 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.ConcurrentSkipListPriorityHeap;
+import test.clevertec.course.heap.model.TestComparable;
+import test.clevertec.course.heap.model.TestNotComparable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentSkipListPriorityHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("IntegerAndComparatorPriorityHeapDataProvider")
+    void givenListAndComparator_whenPollAll_thenReturnInOrder(List<Integer> integers,
+                                                             Comparator<Integer> comparator) {
+        ConcurrentSkipListPriorityHeap<Integer> priorityHeap = new ConcurrentSkipListPriorityHeap<>(comparator);
+        integers.forEach(priorityHeap::add);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(comparator);
+        priorityQueue.addAll(integers);
+        assertEquals(priorityQueue.size(), priorityHeap.size());
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+            assertEquals(priorityQueue.poll(), priorityHeap.poll());
+        }
+        assertNull(priorityHeap.poll());
+    }
+
+    static Stream<Arguments> IntegerAndComparatorPriorityHeapDataProvider() {
+        return Stream.of(
+                Arguments.of(List.of(4, 2, 6, 12, 9, 2, 61, 1), Comparator.naturalOrder()),
+                Arguments.of(List.of(12, 822, 2, 143, 1, 32, 61, 111), Comparator.reverseOrder()),
+                Arguments.of(List.of(42), null));
+    }
+
+    @Test
+    void givenNotComparableClassWithoutComparator_whenCreateAndAddMoreThanOne_thenThrow() {
+        assertThrows(ClassCastException.class,
+                () -> {
+                    ConcurrentSkipListPriorityHeap<TestNotComparable> prior = new ConcurrentSkipListPriorityHeap<>();
+                    prior.add(new TestNotComparable(1));
+                    prior.add(new TestNotComparable(2));
+                }
+        );
+    }
+
+    @Test
+    void givenNull_whenAdd_thenThrow() {
+        assertThrows(NullPointerException.class,
+                () -> new ConcurrentSkipListPriorityHeap<TestComparable>().add(null));
+    }
+
+    @Test
+    void givenConcurrentProducersAndConsumers_whenDrain_thenEveryElementPolledOnce() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10_000;
+        ConcurrentSkipListPriorityHeap<Integer> priorityHeap = new ConcurrentSkipListPriorityHeap<>();
+        ConcurrentLinkedQueue<Integer> polled = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            executor.execute(() -> {
+                await(start);
+                for (int i = 0; i < perThread; i++) {
+                    priorityHeap.add(offset + i);
+                }
+            });
+            executor.execute(() -> {
+                await(start);
+                for (int i = 0; i < perThread; ) {
+                    Integer value = priorityHeap.poll();
+                    if (value != null) {
+                        polled.add(value);
+                        i++;
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<Integer> expected = IntStream.range(0, threads * perThread).boxed().toList();
+        assertThat(new ArrayList<>(polled)).containsExactlyInAnyOrderElementsOf(expected);
+        assertEquals(0, priorityHeap.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
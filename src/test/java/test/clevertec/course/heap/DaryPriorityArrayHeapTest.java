@@ -0,0 +1,68 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.DaryPriorityArrayHeap;
+import test.clevertec.course.heap.model.TestComparable;
+import test.clevertec.course.heap.model.TestNotComparable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaryPriorityArrayHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("ArityAndComparatorDataProvider")
+    void givenRandomList_whenPollAll_thenReturnInOrder(int arity, Comparator<Integer> comparator) {
+        List<Integer> integers = new Random(arity).ints(1000, -500, 500).boxed().toList();
+        DaryPriorityArrayHeap<Integer> priorityHeap = new DaryPriorityArrayHeap<>(arity, 1, comparator);
+        integers.forEach(priorityHeap::add);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(comparator);
+        priorityQueue.addAll(integers);
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(0, comparator.compare(priorityQueue.poll(), priorityHeap.poll()));
+        }
+        assertEquals(0, priorityHeap.size());
+    }
+
+    static Stream<Arguments> ArityAndComparatorDataProvider() {
+        return Stream.of(
+                Arguments.of(2, Comparator.naturalOrder()),
+                Arguments.of(4, Comparator.naturalOrder()),
+                Arguments.of(8, Comparator.reverseOrder()),
+                Arguments.of(16, Comparator.comparingInt(value -> ((Integer) value) % 7)));
+    }
+
+    @Test
+    void givenNotPowerOfTwoArity_whenCreate_thenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new DaryPriorityArrayHeap<Integer>(3));
+        assertThrows(IllegalArgumentException.class, () -> new DaryPriorityArrayHeap<Integer>(1));
+    }
+
+    @Test
+    void givenNotComparableClassWithoutComparator_whenCreateAndAddMoreThanOne_thenThrow() {
+        assertThrows(ClassCastException.class,
+                () -> {
+                    DaryPriorityArrayHeap<TestNotComparable> prior = new DaryPriorityArrayHeap<>(4);
+                    prior.add(new TestNotComparable(1));
+                    prior.add(new TestNotComparable(2));
+                }
+        );
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeekOrPoll_thenNull() {
+        DaryPriorityArrayHeap<TestComparable> priorityHeap = new DaryPriorityArrayHeap<>(8);
+        assertNull(priorityHeap.peek());
+        assertNull(priorityHeap.poll());
+        assertThrows(NullPointerException.class, () -> priorityHeap.add(null));
+    }
+
+}
@@ -0,0 +1,43 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.DoublePriorityHeap;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoublePriorityHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("DoublePriorityHeapDataProvider")
+    void givenList_whenPollAll_thenReturnInOrder(List<Double> doubles) {
+        DoublePriorityHeap priorityHeap = new DoublePriorityHeap(1);
+        doubles.forEach(d -> priorityHeap.add(d.doubleValue()));
+        PriorityQueue<Double> priorityQueue = new PriorityQueue<>(doubles);
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll(), priorityHeap.poll());
+        }
+    }
+
+    static Stream<Arguments> DoublePriorityHeapDataProvider() {
+        return Stream.of(
+                Arguments.of(List.of(4.2, 2.0, 6.1, 12.0, 9.9, 2.0, 61.3, 1.0)),
+                Arguments.of(List.of(Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY, 1.5)),
+                Arguments.of(List.of(42.0)));
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeekDoubleOrPollDouble_thenThrow() {
+        DoublePriorityHeap priorityHeap = new DoublePriorityHeap();
+        assertThrows(NoSuchElementException.class, priorityHeap::peekDouble);
+        assertThrows(NoSuchElementException.class, priorityHeap::pollDouble);
+    }
+
+}
@@ -0,0 +1,132 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.sort.ElementSerializer;
+import ru.clevertec.course.heap.sort.ExternalSorter;
+import ru.clevertec.course.heap.sort.SortedIterator;
+import test.clevertec.course.heap.model.TestLongKeyed;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSorterTest {
+    private static final ElementSerializer<TestLongKeyed> SERIALIZER = new ElementSerializer<>() {
+        @Override
+        public void write(DataOutput out, TestLongKeyed entity) throws IOException {
+            out.writeLong(entity.key());
+            out.writeUTF(entity.payload());
+        }
+
+        @Override
+        public TestLongKeyed read(DataInput in) throws IOException {
+            return new TestLongKeyed(in.readLong(), in.readUTF());
+        }
+    };
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @MethodSource("SizeRunAndFanInDataProvider")
+    void givenRandomRecords_whenSort_thenReturnInKeyOrderAndDeleteRuns(int size, int runSize, int fanIn) throws IOException {
+        Random random = new Random(size);
+        List<TestLongKeyed> records = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            records.add(new TestLongKeyed(random.nextInt(size + 1), "r" + i));
+        }
+        ExternalSorter<TestLongKeyed> sorter = new ExternalSorter<>(TestLongKeyed.BY_KEY, SERIALIZER,
+                runSize, fanIn, directory, pool);
+
+        List<TestLongKeyed> actual = new ArrayList<>();
+        try (SortedIterator<TestLongKeyed> iterator = sorter.sort(records.iterator())) {
+            iterator.forEachRemaining(actual::add);
+        }
+
+        records.sort(TestLongKeyed.BY_KEY);
+        assertEquals(records.stream().map(TestLongKeyed::key).toList(),
+                actual.stream().map(TestLongKeyed::key).toList());
+        assertEquals(records.stream().map(TestLongKeyed::payload).collect(Collectors.toSet()),
+                actual.stream().map(TestLongKeyed::payload).collect(Collectors.toSet()));
+        assertEquals(0, countFiles());
+    }
+
+    static Stream<Arguments> SizeRunAndFanInDataProvider() {
+        return Stream.of(
+                Arguments.of(0, 10, 2),
+                Arguments.of(50, 100, 2),
+                Arguments.of(1000, 100, 16),
+                Arguments.of(10_000, 64, 3),
+                Arguments.of(10_000, 7, 2));
+    }
+
+    @Test
+    void givenStream_whenSortAndCloseEarly_thenRunsDeleted() throws IOException {
+        ExternalSorter<TestLongKeyed> sorter = new ExternalSorter<>(TestLongKeyed.BY_KEY, SERIALIZER,
+                10, 4, directory, pool);
+        Stream<TestLongKeyed> input = new Random(7).longs(1000, 0, 100)
+                .mapToObj(key -> new TestLongKeyed(key, "p"));
+
+        try (Stream<TestLongKeyed> sorted = sorter.sort(input)) {
+            long[] head = sorted.limit(5).mapToLong(TestLongKeyed::key).toArray();
+            assertTrue(countFiles() > 0);
+            long[] expected = Arrays.copyOf(head, head.length);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, head);
+        }
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void givenNullElement_whenSort_thenThrowAndDeleteRuns() throws IOException {
+        ExternalSorter<TestLongKeyed> sorter = new ExternalSorter<>(TestLongKeyed.BY_KEY, SERIALIZER,
+                2, 2, directory, pool);
+        List<TestLongKeyed> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            records.add(new TestLongKeyed(i, "r"));
+        }
+        records.add(null);
+        assertThrows(NullPointerException.class, () -> sorter.sort(records.iterator()));
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void givenIllegalConfiguration_whenCreate_thenThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalSorter<>(TestLongKeyed.BY_KEY, SERIALIZER, 0, 2, directory, pool));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalSorter<>(TestLongKeyed.BY_KEY, SERIALIZER, 10, 1, directory, pool));
+        assertThrows(NullPointerException.class,
+                () -> new ExternalSorter<>(TestLongKeyed.BY_KEY, null, 10, 2, directory, pool));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+}
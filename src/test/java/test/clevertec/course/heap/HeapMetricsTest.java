@@ -0,0 +1,93 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+import ru.clevertec.course.heap.metrics.HeapMetrics;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapMetricsTest {
+
+    @Test
+    void givenMetricsEnabled_whenAddAndPoll_thenCountersUpdated() {
+        assertTrue(HeapMetrics.ENABLED, "run tests with -Dru.clevertec.course.heap.metrics=true");
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(2);
+        for (int i = 100; i > 0; i--) {
+            priorityHeap.add(i);
+        }
+        priorityHeap.poll();
+        priorityHeap.poll(10, new ArrayList<>());
+
+        HeapMetrics metrics = priorityHeap.metrics().orElseThrow();
+        assertEquals(100, metrics.getAdds());
+        assertEquals(11, metrics.getPolls());
+        assertEquals(100, metrics.getHighWaterMark());
+        assertEquals(5, metrics.getResizes());
+        assertThat(metrics.getBytesCopied()).isGreaterThanOrEqualTo(4L * (2 + 6 + 14 + 30 + 62));
+        assertThat(metrics.getComparisons()).isGreaterThan(100L);
+        assertEquals(100, metrics.getSiftUps());
+        assertThat(metrics.getAverageSiftUpDepth()).isGreaterThan(1.0);
+        assertThat(metrics.getSiftDowns()).isGreaterThanOrEqualTo(1L);
+    }
+
+    @Test
+    void givenBulkConstructorAndAddAll_whenMetrics_thenAddsAndHighWaterMarkRecorded() {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(List.of(5, 4, 3, 2, 1));
+        priorityHeap.addAll(List.of(10, 11, 12, 13, 14, 15, 16, 17, 18));
+
+        HeapMetrics metrics = priorityHeap.metrics().orElseThrow();
+        assertEquals(14, priorityHeap.size());
+        assertEquals(14, metrics.getAdds());
+        assertEquals(14, metrics.getHighWaterMark());
+        priorityHeap.poll(14, new ArrayList<>());
+        priorityHeap.addAll(new Integer[]{1, 2});
+        assertEquals(16, metrics.getAdds());
+        assertEquals(14, metrics.getHighWaterMark());
+    }
+
+    @Test
+    void givenHeapifyAndReplaceTop_whenPoll_thenOnlyPollsCountAsSiftDowns() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 1000; i > 0; i--) {
+            values.add(i);
+        }
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(values);
+        priorityHeap.replaceTop(2000);
+
+        HeapMetrics metrics = priorityHeap.metrics().orElseThrow();
+        assertEquals(0, metrics.getSiftDowns());
+        priorityHeap.poll();
+        priorityHeap.poll();
+        assertEquals(2, metrics.getSiftDowns());
+        assertThat(metrics.getAverageSiftDownDepth()).isGreaterThan(5.0);
+    }
+
+    @Test
+    void givenMetrics_whenReset_thenZero() {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(List.of(3, 2, 1));
+        HeapMetrics metrics = priorityHeap.metrics().orElseThrow();
+        metrics.reset();
+        assertEquals(0, metrics.getComparisons());
+        assertEquals(0, metrics.getHighWaterMark());
+    }
+
+    @Test
+    void givenMetrics_whenRegister_thenVisibleThroughJmx() throws Exception {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>();
+        priorityHeap.add(1);
+        ObjectName name = priorityHeap.metrics().orElseThrow().register("test-heap");
+        try {
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Adds"));
+        } finally {
+            HeapMetrics.unregister(name);
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+}
@@ -0,0 +1,108 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.IndexedPriorityArrayHeap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedPriorityArrayHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("SeedAndComparatorDataProvider")
+    void givenRandomUpdatesAndRemoves_whenPollAll_thenMatchPriorityQueue(long seed, Comparator<Integer> comparator) {
+        Random random = new Random(seed);
+        IndexedPriorityArrayHeap<Integer> priorityHeap = new IndexedPriorityArrayHeap<>(1, comparator);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(comparator);
+        List<IndexedPriorityArrayHeap.Handle<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int value = random.nextInt(1000);
+            handles.add(priorityHeap.insert(value));
+            priorityQueue.add(value);
+        }
+        for (int i = 0; i < 2000; i++) {
+            IndexedPriorityArrayHeap.Handle<Integer> handle = handles.get(random.nextInt(handles.size()));
+            if (!priorityHeap.contains(handle)) {
+                continue;
+            }
+            Integer old = handle.get();
+            priorityQueue.remove(old);
+            if (random.nextInt(4) == 0) {
+                assertTrue(priorityHeap.remove(handle));
+                assertFalse(priorityHeap.contains(handle));
+            } else {
+                int value = random.nextInt(1000);
+                priorityHeap.update(handle, value);
+                priorityQueue.add(value);
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+        }
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll(), priorityHeap.poll());
+        }
+        assertNull(priorityHeap.poll());
+    }
+
+    static Stream<Arguments> SeedAndComparatorDataProvider() {
+        return Stream.of(
+                Arguments.of(1L, Comparator.naturalOrder()),
+                Arguments.of(2L, Comparator.reverseOrder()),
+                Arguments.of(3L, null));
+    }
+
+    @Test
+    void givenHandle_whenDecreaseAndIncreaseKey_thenReorder() {
+        IndexedPriorityArrayHeap<Integer> priorityHeap = new IndexedPriorityArrayHeap<>();
+        priorityHeap.insert(5);
+        IndexedPriorityArrayHeap.Handle<Integer> handle = priorityHeap.insert(10);
+        priorityHeap.insert(7);
+
+        priorityHeap.decreaseKey(handle, 1);
+        assertSame(handle, priorityHeap.peekHandle());
+        priorityHeap.increaseKey(handle, 20);
+        assertEquals(5, priorityHeap.poll());
+        assertEquals(7, priorityHeap.poll());
+        assertEquals(20, priorityHeap.poll());
+        assertFalse(priorityHeap.contains(handle));
+    }
+
+    @Test
+    void givenWrongDirection_whenChangeKey_thenThrow() {
+        IndexedPriorityArrayHeap<Integer> priorityHeap = new IndexedPriorityArrayHeap<>();
+        IndexedPriorityArrayHeap.Handle<Integer> handle = priorityHeap.insert(10);
+        assertThrows(IllegalArgumentException.class, () -> priorityHeap.decreaseKey(handle, 11));
+        assertThrows(IllegalArgumentException.class, () -> priorityHeap.increaseKey(handle, 9));
+    }
+
+    @Test
+    void givenForeignOrRemovedHandle_whenUpdate_thenThrow() {
+        IndexedPriorityArrayHeap<Integer> priorityHeap = new IndexedPriorityArrayHeap<>();
+        IndexedPriorityArrayHeap<Integer> other = new IndexedPriorityArrayHeap<>();
+        priorityHeap.insert(1);
+        IndexedPriorityArrayHeap.Handle<Integer> foreign = other.insert(2);
+        assertThrows(IllegalArgumentException.class, () -> priorityHeap.update(foreign));
+        assertFalse(priorityHeap.remove(foreign));
+        other.poll();
+        assertThrows(IllegalArgumentException.class, () -> other.update(foreign, 3));
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeekOrPoll_thenNull() {
+        IndexedPriorityArrayHeap<Integer> priorityHeap = new IndexedPriorityArrayHeap<>();
+        assertNull(priorityHeap.peek());
+        assertNull(priorityHeap.peekHandle());
+        assertNull(priorityHeap.poll());
+        assertThrows(NullPointerException.class, () -> priorityHeap.add(null));
+    }
+
+}
@@ -0,0 +1,54 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.IntPriorityHeap;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntPriorityHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("IntegerPriorityHeapDataProvider")
+    void givenList_whenPollAll_thenReturnInOrder(List<Integer> integers) {
+        IntPriorityHeap priorityHeap = new IntPriorityHeap(1);
+        integers.forEach(priorityHeap::add);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll().intValue(), priorityHeap.pollInt());
+        }
+        assertTrue(priorityHeap.isEmpty());
+    }
+
+    static Stream<Arguments> IntegerPriorityHeapDataProvider() {
+        return Stream.of(
+                Arguments.of(List.of(4, 2, 6, 12, 9, 2, 61, 1)),
+                Arguments.of(List.of(12, 822, 2, 143, 1, 32, 61, 111)),
+                Arguments.of(List.of(Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, 1)),
+                Arguments.of(List.of(42)));
+    }
+
+    @Test
+    void givenList_whenToArray_thenContainsAll() {
+        IntPriorityHeap priorityHeap = new IntPriorityHeap();
+        List.of(3, 1, 2).forEach(priorityHeap::add);
+        assertThat(priorityHeap.toArray()).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeekIntOrPollInt_thenThrow() {
+        IntPriorityHeap priorityHeap = new IntPriorityHeap();
+        assertNull(priorityHeap.peek());
+        assertThrows(NoSuchElementException.class, priorityHeap::peekInt);
+        assertThrows(NoSuchElementException.class, priorityHeap::pollInt);
+    }
+
+}
@@ -0,0 +1,70 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.PriorityHeap;
+import ru.clevertec.course.heap.impl.KeyedPriorityArrayHeap;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composite (priority, deadline, id) ordering of large domain objects: a comparator chain
+ * over {@link PriorityArrayHeap} against the same order packed into a cached {@code long}
+ * key in {@link KeyedPriorityArrayHeap}. Add {@code -p size=1000,100000} for the larger size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class KeyedPriorityArrayHeapBenchmark {
+    private static final Comparator<Task> COMPOSITE = Comparator.comparingInt(Task::priority)
+            .thenComparingInt(Task::deadline)
+            .thenComparingLong(Task::id);
+
+    @Param({"1000"})
+    private int size;
+
+    private Task[] tasks;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(size);
+        tasks = new Task[size];
+        for (int i = 0; i < size; i++) {
+            tasks[i] = new Task(random.nextInt(8), random.nextInt(1 << 20), i, new byte[256]);
+        }
+    }
+
+    @Benchmark
+    public long comparatorHeap() {
+        return fillAndDrain(new PriorityArrayHeap<>(size, COMPOSITE));
+    }
+
+    @Benchmark
+    public long keyedHeap() {
+        return fillAndDrain(new KeyedPriorityArrayHeap<>(size, Task::packedKey, null));
+    }
+
+    private long fillAndDrain(PriorityHeap<Task> heap) {
+        for (Task task : tasks) {
+            heap.add(task);
+        }
+        long checksum = 0;
+        Task polled;
+        while ((polled = heap.poll()) != null) {
+            checksum = checksum * 31 + polled.id();
+        }
+        return checksum;
+    }
+
+    private record Task(int priority, int deadline, long id, byte[] body) {
+        private long packedKey() {
+            return (long) priority << 60 | (long) deadline << 32 | id;
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.clevertec.course.heap.impl.KeyedPriorityArrayHeap;
+import test.clevertec.course.heap.model.TestLongKeyed;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedPriorityArrayHeapTest {
+    private static final Comparator<TestLongKeyed> BY_KEY_THEN_PAYLOAD =
+            TestLongKeyed.BY_KEY.thenComparing(TestLongKeyed::payload);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3})
+    void givenRandomOperations_whenPoll_thenMatchPriorityQueueWithTiebreak(int seed) {
+        Random random = new Random(seed);
+        KeyedPriorityArrayHeap<TestLongKeyed> priorityHeap = new KeyedPriorityArrayHeap<>(1,
+                TestLongKeyed::key, Comparator.comparing(TestLongKeyed::payload));
+        PriorityQueue<TestLongKeyed> priorityQueue = new PriorityQueue<>(BY_KEY_THEN_PAYLOAD);
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2) {
+                TestLongKeyed entity = new TestLongKeyed(random.nextInt(50) - 25, "p" + random.nextInt(1000));
+                priorityHeap.add(entity);
+                priorityQueue.add(entity);
+            } else if (operation == 2) {
+                assertEquals(priorityQueue.poll(), priorityHeap.poll());
+            } else {
+                TestLongKeyed entity = new TestLongKeyed(random.nextInt(50) - 25, "r" + random.nextInt(1000));
+                TestLongKeyed expected = priorityQueue.poll();
+                priorityQueue.add(entity);
+                assertEquals(expected, priorityHeap.replaceTop(entity));
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+        }
+    }
+
+    @Test
+    void givenElements_whenAddAndPoll_thenKeyExtractedOncePerAdd() {
+        AtomicInteger extractions = new AtomicInteger();
+        KeyedPriorityArrayHeap<TestLongKeyed> priorityHeap = new KeyedPriorityArrayHeap<>(e -> {
+            extractions.incrementAndGet();
+            return e.key();
+        });
+        new Random(5).longs(1000).forEach(key -> priorityHeap.add(new TestLongKeyed(key, "")));
+        long previous = Long.MIN_VALUE;
+        while (priorityHeap.size() > 0) {
+            long key = priorityHeap.peekKey();
+            assertTrue(previous <= key);
+            assertEquals(key, priorityHeap.poll().key());
+            previous = key;
+        }
+        assertEquals(1000, extractions.get());
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeekKeyOrPoll_thenThrowOrNull() {
+        KeyedPriorityArrayHeap<TestLongKeyed> priorityHeap = new KeyedPriorityArrayHeap<>(TestLongKeyed::key);
+        assertNull(priorityHeap.poll());
+        assertNull(priorityHeap.peek());
+        assertThrows(NoSuchElementException.class, priorityHeap::peekKey);
+        assertThrows(NullPointerException.class, () -> priorityHeap.add(null));
+    }
+
+}
@@ -0,0 +1,94 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.impl.PriorityArrayListHeap;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancellation storm: a constant number of pending elements where every step adds one
+ * element and then either polls the head or removes a random pending element, with
+ * {@code cancelPercent} of the steps being removals. Add {@code -p pending=1000,10000}
+ * for the larger size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class LazyDeletionBenchmark {
+    private static final int STEPS = 100_000;
+
+    @Param({"1000"})
+    private int pending;
+
+    @Param({"40"})
+    private int cancelPercent;
+
+    @Param({"0.25"})
+    private double compactionThreshold;
+
+    private Integer[] elements;
+    private boolean[] cancels;
+    private int[] victims;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(pending);
+        elements = new Integer[STEPS + pending];
+        cancels = new boolean[STEPS];
+        victims = new int[STEPS];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = random.nextInt();
+        }
+        for (int i = 0; i < STEPS; i++) {
+            cancels[i] = random.nextInt(100) < cancelPercent;
+            victims[i] = random.nextInt(pending);
+        }
+    }
+
+    @Benchmark
+    public int eagerRemoval() {
+        return simulate(new PriorityArrayListHeap<>(pending + 1, null));
+    }
+
+    @Benchmark
+    public int lazyRemoval() {
+        return simulate(new PriorityArrayListHeap<>(pending + 1, null, compactionThreshold));
+    }
+
+    @Benchmark
+    public int priorityQueue() {
+        return simulate(new PriorityQueue<>(pending + 1));
+    }
+
+    /**
+     * Keeps the pending elements in a slot array so a removal picks a random live element;
+     * a polled head leaves a stale slot behind, whose removal then fails like a late cancel.
+     */
+    private int simulate(Queue<Integer> queue) {
+        Integer[] slots = new Integer[pending];
+        for (int i = 0; i < pending; i++) {
+            slots[i] = elements[i];
+            queue.add(elements[i]);
+        }
+        int removed = 0;
+        for (int i = 0; i < STEPS; i++) {
+            Integer element = elements[pending + i];
+            queue.add(element);
+            int victim = victims[i];
+            if (cancels[i]) {
+                removed += queue.remove(slots[victim]) ? 1 : 0;
+            } else {
+                queue.poll();
+            }
+            slots[victim] = element;
+        }
+        return removed + queue.size();
+    }
+
+}
@@ -0,0 +1,59 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.LongPriorityHeap;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongPriorityHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("LongPriorityHeapDataProvider")
+    void givenList_whenPollAll_thenReturnInOrder(List<Long> longs) {
+        LongPriorityHeap priorityHeap = new LongPriorityHeap(1);
+        longs.forEach(l -> priorityHeap.add(l.longValue()));
+        PriorityQueue<Long> priorityQueue = new PriorityQueue<>(longs);
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.peek().longValue(), priorityHeap.peekLong());
+            assertEquals(priorityQueue.poll().longValue(), priorityHeap.pollLong());
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+        }
+    }
+
+    static Stream<Arguments> LongPriorityHeapDataProvider() {
+        return Stream.of(
+                Arguments.of(List.of(4L, 2L, 6L, 12L, 9L, 2L, 61L, 1L)),
+                Arguments.of(List.of(Long.MAX_VALUE, Long.MIN_VALUE, 0L, -1L, 1L)),
+                Arguments.of(List.of(-4L, 0L, -12L, 461L, 3L, 32L, 135L, 1L)),
+                Arguments.of(List.of(42L)));
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeekOrPoll_thenNull() {
+        LongPriorityHeap priorityHeap = new LongPriorityHeap();
+        assertNull(priorityHeap.peek());
+        assertNull(priorityHeap.poll());
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeekLongOrPollLong_thenThrow() {
+        LongPriorityHeap priorityHeap = new LongPriorityHeap();
+        assertThrows(NoSuchElementException.class, priorityHeap::peekLong);
+        assertThrows(NoSuchElementException.class, priorityHeap::pollLong);
+    }
+
+    @Test
+    void givenNull_whenAdd_thenThrow() {
+        assertThrows(NullPointerException.class,
+                () -> new LongPriorityHeap().add((Long) null));
+    }
+
+}
@@ -0,0 +1,141 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.clevertec.course.heap.impl.MappedPriorityHeap;
+import ru.clevertec.course.heap.impl.PriorityRecord;
+import ru.clevertec.course.heap.impl.RecordKeyExtractor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedPriorityHeapTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenRandomRecords_whenPollAll_thenReturnInPriorityOrder() throws IOException {
+        Random random = new Random(42);
+        PriorityQueue<PriorityRecord> priorityQueue =
+                new PriorityQueue<>(Comparator.comparingLong(PriorityRecord::priority));
+        try (MappedPriorityHeap<PriorityRecord> priorityHeap = new MappedPriorityHeap<>(directory.resolve("heap"),
+                1, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY, MappedPriorityHeap.SyncPolicy.NONE)) {
+            for (int i = 0; i < 1000; i++) {
+                PriorityRecord record = new PriorityRecord(random.nextInt(), i);
+                priorityHeap.add(record);
+                priorityQueue.add(record);
+            }
+            while (!priorityQueue.isEmpty()) {
+                assertEquals(priorityQueue.poll().priority(), priorityHeap.poll().priority());
+            }
+            assertNull(priorityHeap.poll());
+        }
+    }
+
+    @Test
+    void givenClosedHeap_whenReopen_thenContentsRestored() throws IOException {
+        Path file = directory.resolve("heap");
+        try (MappedPriorityHeap<PriorityRecord> priorityHeap =
+                     new MappedPriorityHeap<>(file, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY)) {
+            for (long i = 0; i < 2000; i++) {
+                priorityHeap.add(new PriorityRecord(2000 - i, i));
+            }
+            priorityHeap.poll();
+        }
+        try (MappedPriorityHeap<PriorityRecord> priorityHeap = new MappedPriorityHeap<>(file, 1,
+                PriorityRecord.LAYOUT, PriorityRecord.PRIORITY, MappedPriorityHeap.SyncPolicy.EVERY_OPERATION)) {
+            assertEquals(1999, priorityHeap.size());
+            for (long priority = 2; priority <= 2000; priority++) {
+                assertEquals(new PriorityRecord(priority, 2000 - priority), priorityHeap.poll());
+            }
+            assertEquals(0, priorityHeap.size());
+        }
+    }
+
+    @Test
+    void givenCorruptedHeader_whenReopen_thenThrow() throws IOException {
+        Path file = directory.resolve("heap");
+        try (MappedPriorityHeap<PriorityRecord> priorityHeap =
+                     new MappedPriorityHeap<>(file, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY)) {
+            priorityHeap.add(new PriorityRecord(1, 1));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 100), 12);
+        }
+        assertThrows(IOException.class,
+                () -> new MappedPriorityHeap<>(file, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY));
+    }
+
+    @Test
+    void givenOperationInterruptedMidSift_whenReopen_thenThrow() throws IOException {
+        Path file = directory.resolve("heap");
+        Path crashImage = directory.resolve("crash");
+        AtomicInteger remainingKeyReads = new AtomicInteger(Integer.MAX_VALUE);
+        RecordKeyExtractor failingKey = (buffer, offset) -> {
+            if (remainingKeyReads.decrementAndGet() < 0) {
+                throw new IllegalStateException("simulated crash");
+            }
+            return buffer.getLong(offset);
+        };
+        try (MappedPriorityHeap<PriorityRecord> priorityHeap = new MappedPriorityHeap<>(file, 1,
+                PriorityRecord.LAYOUT, failingKey, MappedPriorityHeap.SyncPolicy.EVERY_OPERATION)) {
+            for (long i = 0; i < 50; i++) {
+                priorityHeap.add(new PriorityRecord(i, i));
+            }
+            // fail on the second level of the sift, after the root has been overwritten
+            remainingKeyReads.set(4);
+            assertThrows(IllegalStateException.class, priorityHeap::poll);
+            Files.copy(file, crashImage);
+        }
+        assertThrows(IOException.class,
+                () -> new MappedPriorityHeap<>(crashImage, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY));
+    }
+
+    @Test
+    void givenManualPolicy_whenReopenBeforeAndAfterForce_thenOnlyForcedImageOpens() throws IOException {
+        Path file = directory.resolve("heap");
+        Path unforced = directory.resolve("unforced");
+        Path forced = directory.resolve("forced");
+        try (MappedPriorityHeap<PriorityRecord> priorityHeap =
+                     new MappedPriorityHeap<>(file, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY)) {
+            priorityHeap.add(new PriorityRecord(1, 1));
+            Files.copy(file, unforced);
+            priorityHeap.force();
+            Files.copy(file, forced);
+        }
+        assertThrows(IOException.class,
+                () -> new MappedPriorityHeap<>(unforced, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY));
+        try (MappedPriorityHeap<PriorityRecord> priorityHeap =
+                     new MappedPriorityHeap<>(forced, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY)) {
+            assertEquals(new PriorityRecord(1, 1), priorityHeap.poll());
+        }
+    }
+
+    @Test
+    void givenNullSyncPolicy_whenOpen_thenThrowWithoutCreatingFile() {
+        Path file = directory.resolve("heap");
+        assertThrows(NullPointerException.class, () -> new MappedPriorityHeap<>(file, 1,
+                PriorityRecord.LAYOUT, PriorityRecord.PRIORITY, null));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void givenForeignFile_whenOpen_thenThrow() throws IOException {
+        Path file = directory.resolve("heap");
+        Files.write(file, new byte[256]);
+        assertThrows(IOException.class,
+                () -> new MappedPriorityHeap<>(file, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY));
+    }
+
+}
@@ -0,0 +1,100 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.DoubleEndedPriorityHeap;
+import ru.clevertec.course.heap.impl.MinMaxPriorityArrayHeap;
+import test.clevertec.course.heap.model.TestNotComparable;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinMaxPriorityArrayHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("SeedAndComparatorDataProvider")
+    void givenRandomOperations_whenPollFromBothEnds_thenMatchSortedMultiset(long seed, Comparator<Integer> comparator) {
+        Random random = new Random(seed);
+        DoubleEndedPriorityHeap<Integer> priorityHeap = new MinMaxPriorityArrayHeap<>(1, comparator);
+        TreeMap<Integer, Integer> multiset = new TreeMap<>(comparator);
+        int size = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(5);
+            if (operation < 3) {
+                int value = random.nextInt(500);
+                priorityHeap.add(value);
+                multiset.merge(value, 1, Integer::sum);
+                size++;
+            } else if (operation == 3) {
+                assertEquals(size == 0 ? null : multiset.firstKey(), priorityHeap.poll());
+                if (size > 0) {
+                    remove(multiset, multiset.firstKey());
+                    size--;
+                }
+            } else {
+                assertEquals(size == 0 ? null : multiset.lastKey(), priorityHeap.pollMax());
+                if (size > 0) {
+                    remove(multiset, multiset.lastKey());
+                    size--;
+                }
+            }
+            assertEquals(size, priorityHeap.size());
+            assertEquals(size == 0 ? null : multiset.firstKey(), priorityHeap.peek());
+            assertEquals(size == 0 ? null : multiset.lastKey(), priorityHeap.peekMax());
+        }
+    }
+
+    static Stream<Arguments> SeedAndComparatorDataProvider() {
+        return Stream.of(
+                Arguments.of(1L, Comparator.naturalOrder()),
+                Arguments.of(2L, Comparator.reverseOrder()),
+                Arguments.of(3L, null),
+                Arguments.of(4L, (Comparator<Integer>) (l, r) -> l < r ? Integer.MIN_VALUE : l > r ? Integer.MAX_VALUE : 0));
+    }
+
+    private static void remove(TreeMap<Integer, Integer> multiset, Integer key) {
+        multiset.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    @Test
+    void givenBoundedBuffer_whenEvictMax_thenKeepCheapest() {
+        DoubleEndedPriorityHeap<Integer> priorityHeap = new MinMaxPriorityArrayHeap<>();
+        int capacity = 5;
+        for (int value : new int[]{40, 10, 70, 30, 90, 20, 60, 50, 80}) {
+            priorityHeap.add(value);
+            if (priorityHeap.size() > capacity) {
+                priorityHeap.pollMax();
+            }
+        }
+        assertEquals(50, priorityHeap.peekMax());
+        assertEquals(10, priorityHeap.poll());
+        assertEquals(20, priorityHeap.poll());
+        assertEquals(50, priorityHeap.pollMax());
+        assertEquals(40, priorityHeap.pollMax());
+        assertEquals(30, priorityHeap.poll());
+        assertNull(priorityHeap.pollMax());
+    }
+
+    @Test
+    void givenNotComparableClassWithoutComparator_whenCreateAndAddMoreThanOne_thenThrow() {
+        assertThrows(ClassCastException.class,
+                () -> {
+                    MinMaxPriorityArrayHeap<TestNotComparable> prior = new MinMaxPriorityArrayHeap<>();
+                    prior.add(new TestNotComparable(1));
+                    prior.add(new TestNotComparable(2));
+                }
+        );
+    }
+
+    @Test
+    void givenNull_whenAdd_thenThrow() {
+        assertThrows(NullPointerException.class, () -> new MinMaxPriorityArrayHeap<Integer>().add(null));
+    }
+
+}
@@ -0,0 +1,105 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import ru.clevertec.course.heap.impl.ConcurrentSkipListPriorityHeap;
+import ru.clevertec.course.heap.impl.MultiQueuePriorityHeap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Add-then-poll throughput of {@link MultiQueuePriorityHeap} against a skip list, plus the
+ * rank error of its polls in {@link RankError}. The defaults are a smoke set; the full matrix
+ * is {@code -p shardsPerThread=1,2,4} with {@code -t 16} or {@code -t 64} on {@code Threads4},
+ * and {@code -p shardsPerThread=1,2,4 -p threads=4,16,64} for {@code RankError}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 2)
+@Fork(value = 1, warmups = 1)
+public abstract class MultiQueuePriorityHeapBenchmark {
+    private static final int PREFILL_COUNT = 100_000;
+
+    @Param({"2"})
+    private int shardsPerThread;
+
+    private MultiQueuePriorityHeap<Integer> multiQueue;
+    private ConcurrentSkipListPriorityHeap<Integer> skipListHeap;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkParams params) {
+        multiQueue = new MultiQueuePriorityHeap<>(shardsPerThread, params.getThreads(), null);
+        skipListHeap = new ConcurrentSkipListPriorityHeap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < PREFILL_COUNT; i++) {
+            int value = random.nextInt();
+            multiQueue.add(value);
+            skipListHeap.add(value);
+        }
+    }
+
+    @Benchmark
+    public Integer benchmarkMultiQueuePriorityHeapAddPoll() {
+        multiQueue.add(ThreadLocalRandom.current().nextInt());
+        return multiQueue.poll();
+    }
+
+    @Benchmark
+    public Integer benchmarkConcurrentSkipListPriorityHeapAddPoll() {
+        skipListHeap.add(ThreadLocalRandom.current().nextInt());
+        return skipListHeap.poll();
+    }
+
+    @Threads(1)
+    public static class Threads1 extends MultiQueuePriorityHeapBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends MultiQueuePriorityHeapBenchmark {
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @Fork(1)
+    public static class RankError {
+        @Param({"2"})
+        private int shardsPerThread;
+
+        @Param({"4"})
+        private int threads;
+
+        @Param({"100000"})
+        private int size;
+
+        @Benchmark
+        public void measureRankError(RankErrorCounters counters) {
+            RankErrorMeter.Result result = new RankErrorMeter(size, ThreadLocalRandom.current().nextLong())
+                    .measure(new MultiQueuePriorityHeap<>(shardsPerThread, threads, null));
+            counters.polls += result.polls();
+            counters.totalRankError += result.totalRankError();
+            counters.maxRankError = Math.max(counters.maxRankError, result.maxRankError());
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RankErrorCounters {
+        public long polls;
+        public long totalRankError;
+        public long maxRankError;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            polls = 0;
+            totalRankError = 0;
+            maxRankError = 0;
+        }
+    }
+
+}
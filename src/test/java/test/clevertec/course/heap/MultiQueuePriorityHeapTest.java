@@ -0,0 +1,94 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.MultiQueuePriorityHeap;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+import test.clevertec.course.heap.model.TestComparable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiQueuePriorityHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("ShardDataProvider")
+    void givenPermutation_whenPollAll_thenRankErrorBoundedByShards(int shardsPerThread, int threads) {
+        MultiQueuePriorityHeap<Integer> priorityHeap = new MultiQueuePriorityHeap<>(shardsPerThread, threads, null);
+        RankErrorMeter.Result result = new RankErrorMeter(10_000, 42).measure(priorityHeap);
+
+        assertEquals(10_000, result.polls());
+        assertEquals(0, priorityHeap.size());
+        assertThat(result.meanRankError()).isLessThan(4.0 * priorityHeap.shardCount());
+    }
+
+    static Stream<Arguments> ShardDataProvider() {
+        return Stream.of(
+                Arguments.of(1, 1),
+                Arguments.of(2, 4),
+                Arguments.of(4, 8));
+    }
+
+    @Test
+    void givenStrictHeap_whenMeasure_thenNoRankError() {
+        RankErrorMeter.Result result = new RankErrorMeter(1_000, 7).measure(new PriorityArrayHeap<>());
+        assertEquals(0, result.maxRankError());
+    }
+
+    @Test
+    void givenElements_whenPeek_thenReturnGlobalMin() {
+        MultiQueuePriorityHeap<Integer> priorityHeap = new MultiQueuePriorityHeap<>();
+        List.of(5, 3, 9, -1, 7).forEach(priorityHeap::add);
+        assertEquals(-1, (int) priorityHeap.peek());
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeekOrPoll_thenNull() {
+        MultiQueuePriorityHeap<TestComparable> priorityHeap = new MultiQueuePriorityHeap<>();
+        assertNull(priorityHeap.peek());
+        assertNull(priorityHeap.poll());
+        assertThrows(NullPointerException.class, () -> priorityHeap.add(null));
+    }
+
+    @Test
+    void givenConcurrentProducers_whenDrain_thenEveryElementPolledOnce() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10_000;
+        MultiQueuePriorityHeap<Integer> priorityHeap = new MultiQueuePriorityHeap<>(2, threads, null);
+        ConcurrentLinkedQueue<Integer> polled = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    priorityHeap.add(offset + i);
+                    Integer value = (i & 1) == 1 ? priorityHeap.poll() : null;
+                    if (value != null) {
+                        polled.add(value);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Integer value;
+        while ((value = priorityHeap.poll()) != null) {
+            polled.add(value);
+        }
+
+        List<Integer> expected = IntStream.range(0, threads * perThread).boxed().toList();
+        assertThat(new ArrayList<>(polled)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+}
@@ -0,0 +1,92 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.clevertec.course.heap.impl.OffHeapPriorityHeap;
+import ru.clevertec.course.heap.impl.PriorityRecord;
+import ru.clevertec.course.heap.impl.RecordLayout;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapPriorityHeapTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void givenRandomRecords_whenPollAll_thenReturnInPriorityOrder(int count) {
+        Random random = new Random(count);
+        OffHeapPriorityHeap<PriorityRecord> priorityHeap =
+                new OffHeapPriorityHeap<>(1, PriorityRecord.LAYOUT, PriorityRecord.PRIORITY);
+        Comparator<PriorityRecord> comparator = Comparator.comparingLong(PriorityRecord::priority);
+        PriorityQueue<PriorityRecord> priorityQueue = new PriorityQueue<>(comparator);
+        for (int i = 0; i < count; i++) {
+            PriorityRecord record = new PriorityRecord(random.nextInt(100) - 50, i);
+            priorityHeap.add(record);
+            priorityQueue.add(record);
+        }
+        assertEquals(count, priorityHeap.size());
+        while (!priorityQueue.isEmpty()) {
+            PriorityRecord expected = priorityQueue.poll();
+            assertEquals(expected.priority(), priorityHeap.peekKey());
+            PriorityRecord actual = priorityHeap.poll();
+            assertEquals(expected.priority(), actual.priority());
+        }
+        assertNull(priorityHeap.poll());
+    }
+
+    @Test
+    void givenRecordsWithPayload_whenPoll_thenPayloadPreserved() {
+        OffHeapPriorityHeap<PriorityRecord> priorityHeap =
+                new OffHeapPriorityHeap<>(PriorityRecord.LAYOUT, PriorityRecord.PRIORITY);
+        for (long i = 0; i < 100; i++) {
+            priorityHeap.add(new PriorityRecord(100 - i, i * 31));
+        }
+        for (long i = 99; i >= 0; i--) {
+            assertEquals(new PriorityRecord(100 - i, i * 31), priorityHeap.poll());
+        }
+    }
+
+    @Test
+    void givenCustomLayoutAndKeyExtractor_whenPoll_thenOrderedByExtractedKey() {
+        RecordLayout<String> layout = new RecordLayout<>() {
+            @Override
+            public int recordSize() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, String entity) {
+                buffer.putInt(offset, Integer.parseInt(entity));
+            }
+
+            @Override
+            public String read(ByteBuffer buffer, int offset) {
+                return Integer.toString(buffer.getInt(offset));
+            }
+        };
+        OffHeapPriorityHeap<String> priorityHeap =
+                new OffHeapPriorityHeap<>(layout, (buffer, offset) -> -buffer.getInt(offset));
+        priorityHeap.add("3");
+        priorityHeap.add("10");
+        priorityHeap.add("-7");
+        assertEquals("10", priorityHeap.poll());
+        assertEquals("3", priorityHeap.poll());
+        assertEquals("-7", priorityHeap.poll());
+    }
+
+    @Test
+    void givenEmptyHeap_whenPeek_thenNullOrThrow() {
+        OffHeapPriorityHeap<PriorityRecord> priorityHeap =
+                new OffHeapPriorityHeap<>(PriorityRecord.LAYOUT, PriorityRecord.PRIORITY);
+        assertNull(priorityHeap.peek());
+        assertThrows(NoSuchElementException.class, priorityHeap::peekKey);
+        assertThrows(NullPointerException.class, () -> priorityHeap.add(null));
+    }
+
+}
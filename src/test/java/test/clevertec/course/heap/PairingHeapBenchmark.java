@@ -0,0 +1,102 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.PriorityHeap;
+import ru.clevertec.course.heap.impl.PairingHeap;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+import ru.clevertec.course.heap.impl.PriorityArrayListHeap;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fill-and-drain of {@link PairingHeap} against the array heaps. Add
+ * {@code -p size=1000,100000} for the larger size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class PairingHeapBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private Integer[] left;
+    private Integer[] right;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(size);
+        left = new Integer[size];
+        right = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            left[i] = random.nextInt();
+            right[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int pairingHeapFillAndDrain() {
+        return fillAndDrain(new PairingHeap<>());
+    }
+
+    @Benchmark
+    public int priorityArrayHeapFillAndDrain() {
+        return fillAndDrain(new PriorityArrayHeap<>());
+    }
+
+    @Benchmark
+    public int priorityArrayListHeapFillAndDrain() {
+        return fillAndDrain(new PriorityArrayListHeap<>());
+    }
+
+    @Benchmark
+    public Integer pairingHeapFillAndMeld() {
+        PairingHeap<Integer> target = fill(new PairingHeap<>(), left);
+        target.meld(fill(new PairingHeap<>(), right));
+        return target.peek();
+    }
+
+    @Benchmark
+    public Integer priorityArrayHeapFillAndMerge() {
+        PriorityArrayHeap<Integer> target = fill(new PriorityArrayHeap<>(), left);
+        PriorityArrayHeap<Integer> source = fill(new PriorityArrayHeap<>(), right);
+        Integer polled;
+        while ((polled = source.poll()) != null) {
+            target.add(polled);
+        }
+        return target.peek();
+    }
+
+    @Benchmark
+    public Integer priorityArrayListHeapFillAndMerge() {
+        PriorityArrayListHeap<Integer> target = fill(new PriorityArrayListHeap<>(), left);
+        PriorityArrayListHeap<Integer> source = fill(new PriorityArrayListHeap<>(), right);
+        Integer polled;
+        while ((polled = source.poll()) != null) {
+            target.add(polled);
+        }
+        return target.peek();
+    }
+
+    private <H extends PriorityHeap<Integer>> H fill(H heap, Integer[] values) {
+        for (Integer value : values) {
+            heap.add(value);
+        }
+        return heap;
+    }
+
+    private int fillAndDrain(PriorityHeap<Integer> heap) {
+        fill(heap, left);
+        int checksum = 0;
+        Integer polled;
+        while ((polled = heap.poll()) != null) {
+            checksum += polled;
+        }
+        return checksum;
+    }
+
+}
@@ -0,0 +1,142 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.PairingHeap;
+import test.clevertec.course.heap.model.TestNotComparable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PairingHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("SeedAndComparatorDataProvider")
+    void givenRandomOperations_whenPoll_thenMatchPriorityQueue(long seed, Comparator<Integer> comparator) {
+        Random random = new Random(seed);
+        PairingHeap<Integer> priorityHeap = new PairingHeap<>(comparator);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(comparator);
+        for (int i = 0; i < 5000; i++) {
+            if (random.nextInt(3) > 0) {
+                int value = random.nextInt(1000);
+                priorityHeap.add(value);
+                priorityQueue.add(value);
+            } else {
+                assertEquals(priorityQueue.poll(), priorityHeap.poll());
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+        }
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll(), priorityHeap.poll());
+        }
+        assertNull(priorityHeap.poll());
+    }
+
+    static Stream<Arguments> SeedAndComparatorDataProvider() {
+        return Stream.of(
+                Arguments.of(1L, Comparator.naturalOrder()),
+                Arguments.of(2L, Comparator.reverseOrder()),
+                Arguments.of(3L, null));
+    }
+
+    @Test
+    void givenTwoHeaps_whenMeld_thenOtherEmptyAndAllPolledInOrder() {
+        PairingHeap<Integer> priorityHeap = new PairingHeap<>();
+        PairingHeap<Integer> other = new PairingHeap<>();
+        List.of(5, 1, 9).forEach(priorityHeap::add);
+        List.of(4, 8, 0, 7).forEach(other::add);
+
+        priorityHeap.meld(other);
+
+        assertEquals(0, other.size());
+        assertNull(other.peek());
+        List<Integer> polled = new ArrayList<>();
+        priorityHeap.poll(Integer.MAX_VALUE, polled);
+        assertEquals(List.of(0, 1, 4, 5, 7, 8, 9), polled);
+    }
+
+    @Test
+    void givenHandles_whenDecreaseKey_thenReorder() {
+        Random random = new Random(5);
+        PairingHeap<Integer> priorityHeap = new PairingHeap<>();
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
+        List<PairingHeap.Node<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(100_000);
+            handles.add(priorityHeap.insert(value));
+            priorityQueue.add(value);
+        }
+        priorityHeap.poll();
+        priorityQueue.poll();
+        for (PairingHeap.Node<Integer> handle : handles) {
+            if (handle.isInHeap() && random.nextBoolean()) {
+                int value = handle.get() - random.nextInt(100_000);
+                priorityQueue.remove(handle.get());
+                priorityQueue.add(value);
+                priorityHeap.decreaseKey(handle, value);
+            }
+        }
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll(), priorityHeap.poll());
+        }
+    }
+
+    @Test
+    void givenPolledHandleOrGreaterKey_whenDecreaseKey_thenThrow() {
+        PairingHeap<Integer> priorityHeap = new PairingHeap<>();
+        PairingHeap.Node<Integer> first = priorityHeap.insert(1);
+        PairingHeap.Node<Integer> second = priorityHeap.insert(2);
+        assertThrows(IllegalArgumentException.class, () -> priorityHeap.decreaseKey(second, 3));
+        priorityHeap.poll();
+        assertFalse(first.isInHeap());
+        assertThrows(IllegalArgumentException.class, () -> priorityHeap.decreaseKey(first, 0));
+    }
+
+    @Test
+    void givenHandleOfOtherHeap_whenDecreaseKey_thenThrowUntilMelded() {
+        PairingHeap<Integer> first = new PairingHeap<>();
+        PairingHeap<Integer> second = new PairingHeap<>();
+        PairingHeap<Integer> third = new PairingHeap<>();
+        PairingHeap.Node<Integer> handle = first.insert(10);
+        first.insert(20);
+        second.insert(30);
+
+        assertThrows(IllegalArgumentException.class, () -> second.decreaseKey(handle, 0));
+
+        second.meld(first);
+        assertThrows(IllegalArgumentException.class, () -> first.decreaseKey(handle, 0));
+        PairingHeap.Node<Integer> later = first.insert(40);
+        third.meld(second);
+        assertThrows(IllegalArgumentException.class, () -> second.decreaseKey(handle, 0));
+        assertThrows(IllegalArgumentException.class, () -> third.decreaseKey(later, 0));
+
+        third.decreaseKey(handle, 5);
+        first.decreaseKey(later, 1);
+        assertEquals(1, first.poll());
+        assertEquals(List.of(5, 20, 30), List.of(third.poll(), third.poll(), third.poll()));
+        assertEquals(0, first.size());
+        assertEquals(0, second.size());
+        assertEquals(0, third.size());
+    }
+
+    @Test
+    void givenNotComparableClassWithoutComparator_whenCreateAndAddMoreThanOne_thenThrow() {
+        assertThrows(ClassCastException.class,
+                () -> {
+                    PairingHeap<TestNotComparable> prior = new PairingHeap<>();
+                    prior.add(new TestNotComparable(1));
+                    prior.add(new TestNotComparable(2));
+                }
+        );
+    }
+
+}
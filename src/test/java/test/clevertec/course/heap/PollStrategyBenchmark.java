@@ -0,0 +1,98 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fill-and-drain of {@link PriorityArrayHeap} with each {@link PriorityArrayHeap.PollStrategy}
+ * against {@link PriorityQueue}, on cheap {@code Integer} keys and on strings sharing a long
+ * common prefix, where every comparison is expensive. The defaults only compare the two
+ * strategies on strings; the full matrix is {@code -p size=1000,100000
+ * -p keyType=INTEGER,EXPENSIVE_STRING -p implementation=PRIORITY_QUEUE,STANDARD,BOTTOM_UP}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class PollStrategyBenchmark {
+    private static final String COMMON_PREFIX = "2024-01-01T00:00:00.000Z/cluster-01/node-";
+
+    @Param({"1000"})
+    private int size;
+
+    @Param({"EXPENSIVE_STRING"})
+    private KeyType keyType;
+
+    @Param({"STANDARD", "BOTTOM_UP"})
+    private Implementation implementation;
+
+    private Object[] values;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(size);
+        values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            int key = random.nextInt();
+            values[i] = keyType == KeyType.INTEGER ? key : COMMON_PREFIX + key;
+        }
+    }
+
+    @Benchmark
+    public int fillAndDrain() {
+        Comparator<Object> comparator = keyType.comparator;
+        int checksum = 0;
+        if (implementation == Implementation.PRIORITY_QUEUE) {
+            PriorityQueue<Object> queue = new PriorityQueue<>(size, comparator);
+            for (Object value : values) {
+                queue.add(value);
+            }
+            Object polled;
+            while ((polled = queue.poll()) != null) {
+                checksum += polled.hashCode();
+            }
+        } else {
+            PriorityArrayHeap<Object> heap = new PriorityArrayHeap<>(size, comparator, implementation.strategy);
+            for (Object value : values) {
+                heap.add(value);
+            }
+            Object polled;
+            while ((polled = heap.poll()) != null) {
+                checksum += polled.hashCode();
+            }
+        }
+        return checksum;
+    }
+
+    @SuppressWarnings("unchecked")
+    public enum KeyType {
+        INTEGER((Comparator<Object>) (Comparator<?>) Comparator.<Integer>naturalOrder()),
+        EXPENSIVE_STRING((Comparator<Object>) (Comparator<?>) Comparator.<String>naturalOrder());
+
+        private final Comparator<Object> comparator;
+
+        KeyType(Comparator<Object> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    public enum Implementation {
+        PRIORITY_QUEUE(null),
+        STANDARD(PriorityArrayHeap.PollStrategy.STANDARD),
+        BOTTOM_UP(PriorityArrayHeap.PollStrategy.BOTTOM_UP);
+
+        private final PriorityArrayHeap.PollStrategy strategy;
+
+        Implementation(PriorityArrayHeap.PollStrategy strategy) {
+            this.strategy = strategy;
+        }
+    }
+
+}
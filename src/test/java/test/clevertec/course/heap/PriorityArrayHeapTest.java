@@ -5,13 +5,18 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+import ru.clevertec.course.heap.metrics.HeapMetrics;
+import ru.clevertec.course.heap.metrics.ReferenceSize;
 import test.clevertec.course.heap.model.TestComparable;
 import test.clevertec.course.heap.model.TestNotComparable;
 
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Spliterator;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,6 +57,17 @@ class PriorityArrayHeapTest {
         );
     }
 
+    @Test
+    void givenMetricsDisabled_whenUseHeap_thenNoMetricsAndSameOrder() {
+        assertFalse(HeapMetrics.ENABLED, "the metrics-enabled path runs in the metricsTest task");
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(List.of(5, 1, 4));
+        priorityHeap.add(2);
+        priorityHeap.addAll(List.of(3, 0));
+
+        assertTrue(priorityHeap.metrics().isEmpty());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), priorityHeap.drainingStream().toList());
+    }
+
     @Test
     void givenNull_whenAdd_thenThrow() {
         assertThrows(NullPointerException.class,
@@ -105,8 +121,7 @@ class PriorityArrayHeapTest {
     void givenList_whenPollAll_thenReturnNull(List<Integer> integers) {
         PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>();
         priorityHeap.addAll(integers);
-        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
-        priorityQueue.addAll(integers);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
         while (priorityHeap.size() > 0) {
             priorityHeap.poll();
             priorityQueue.poll();
@@ -155,7 +170,291 @@ class PriorityArrayHeapTest {
                 new TestComparable(6, 932.4));
     }
 
+    @ParameterizedTest
+    @MethodSource("IntegerPriorityHeapDataProvider")
+    void givenBulkSources_whenCreate_thenPollInOrder(List<Integer> integers) {
+        List<PriorityArrayHeap<Integer>> heaps = List.of(
+                new PriorityArrayHeap<>(integers),
+                new PriorityArrayHeap<>(integers.toArray(new Integer[0])),
+                new PriorityArrayHeap<>(integers.spliterator(), Comparator.naturalOrder()));
+        for (PriorityArrayHeap<Integer> priorityHeap : heaps) {
+            PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            while (!priorityQueue.isEmpty()) {
+                assertEquals(priorityQueue.poll(), priorityHeap.poll());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("IntegerPriorityHeapDataProvider")
+    void givenNotEmptyHeap_whenAddAll_thenPollInOrder(List<Integer> integers) {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(List.of(5, 3, 7, 100, -100));
+        priorityHeap.addAll(integers);
+        priorityHeap.addAll(List.of(8));
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(List.of(5, 3, 7, 100, -100, 8));
+        priorityQueue.addAll(integers);
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll(), priorityHeap.poll());
+        }
+    }
 
+    @Test
+    void givenArrayWithNull_whenAddAll_thenThrowAndKeepHeap() {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(List.of(2, 1));
+        assertThrows(NullPointerException.class, () -> priorityHeap.addAll(new Integer[]{3, null}));
+        assertThat(priorityHeap.toArray()).containsExactly(1, 2);
+    }
 
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenRandomList_whenPollBatch_thenReturnInOrder(int count, int batch) {
+        List<Integer> integers = new Random(count).ints(count, -100, 100).boxed().toList();
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(integers);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+        while (!priorityQueue.isEmpty()) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < batch && !priorityQueue.isEmpty(); i++) {
+                expected.add(priorityQueue.poll());
+            }
+            List<Integer> actual = new ArrayList<>();
+            assertEquals(expected.size(), priorityHeap.poll(batch, actual));
+            assertEquals(expected, actual);
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+        }
+        assertEquals(0, priorityHeap.poll(batch, new ArrayList<>()));
+    }
 
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenRandomList_whenDrainTo_thenFillInOrder(int count, int batch) {
+        List<Integer> integers = new Random(count).ints(count, -100, 100).boxed().toList();
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(integers);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+        Integer[] dest = new Integer[batch];
+        int drained;
+        while ((drained = priorityHeap.drainTo(dest)) > 0) {
+            for (int i = 0; i < drained; i++) {
+                assertEquals(priorityQueue.poll(), dest[i]);
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+        }
+        assertTrue(priorityQueue.isEmpty());
+    }
+
+    static Stream<Arguments> BatchPollDataProvider() {
+        return Stream.of(
+                Arguments.of(0, 4),
+                Arguments.of(100, 1),
+                Arguments.of(100, 7),
+                Arguments.of(100, 64),
+                Arguments.of(100, 1000));
+    }
+
+    @Test
+    void givenNegativeCount_whenPollBatch_thenThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PriorityArrayHeap<Integer>().poll(-1, new ArrayList<>()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenRandomOperations_whenReplaceTopAndPushPop_thenMatchPollAndAdd(int count, int seed) {
+        Random random = new Random(seed);
+        List<Integer> integers = random.ints(count, -100, 100).boxed().toList();
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(integers);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(200) - 100;
+            if (random.nextBoolean()) {
+                Integer expected = priorityQueue.poll();
+                priorityQueue.add(value);
+                assertEquals(expected, priorityHeap.replaceTop(value));
+            } else {
+                priorityQueue.add(value);
+                assertEquals(priorityQueue.poll(), priorityHeap.pushPop(value));
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+        }
+    }
+
+    @Test
+    void givenElementBeforeHead_whenPushPop_thenReturnItWithoutChange() {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(List.of(5, 7, 9));
+        Integer element = 3;
+        assertSame(element, priorityHeap.pushPop(element));
+        assertEquals(3, priorityHeap.size());
+        assertEquals(5, priorityHeap.peek());
+        assertThrows(NullPointerException.class, () -> priorityHeap.replaceTop(null));
+        assertThrows(NullPointerException.class, () -> priorityHeap.pushPop(null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenRandomList_whenSortedIterator_thenPriorityOrderAndHeapUnchanged(int count, int seed) {
+        List<Integer> integers = new Random(seed).ints(count, -100, 100).boxed().toList();
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(integers);
+        List<Integer> expected = integers.stream().sorted().toList();
+
+        List<Integer> actual = new ArrayList<>();
+        priorityHeap.sortedIterator().forEachRemaining(actual::add);
+
+        assertEquals(expected, actual);
+        assertEquals(expected, priorityHeap.sortedStream().toList());
+        assertEquals(count, priorityHeap.size());
+    }
+
+    @Test
+    void givenHeap_whenDrainingStreamWithLimit_thenPollOnlyLimit() {
+        List<Integer> integers = new Random(3).ints(1000, 0, 10_000).boxed().toList();
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(integers);
+
+        List<Integer> head = priorityHeap.drainingStream().limit(10).toList();
+
+        assertEquals(integers.stream().sorted().limit(10).toList(), head);
+        assertEquals(990, priorityHeap.size());
+    }
+
+    @Test
+    void givenHeap_whenSpliterator_thenUnorderedAndSplittable() {
+        List<Integer> integers = new Random(4).ints(10_000, 0, 10_000).boxed().toList();
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(integers);
+
+        Spliterator<Integer> spliterator = priorityHeap.spliterator();
+
+        assertFalse(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertNotNull(spliterator.trySplit());
+        assertEquals(integers.stream().mapToLong(Integer::longValue).sum(),
+                priorityHeap.stream().parallel().mapToLong(Integer::longValue).sum());
+    }
+
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenBottomUpStrategy_whenRandomOperations_thenMatchPriorityQueue(int count, int seed) {
+        Random random = new Random(seed);
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(1, Comparator.naturalOrder(),
+                PriorityArrayHeap.PollStrategy.BOTTOM_UP);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
+        for (int i = 0; i < count * 10; i++) {
+            if (random.nextInt(3) > 0) {
+                int value = random.nextInt(100);
+                priorityHeap.add(value);
+                priorityQueue.add(value);
+            } else {
+                assertEquals(priorityQueue.poll(), priorityHeap.poll());
+            }
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+        }
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll(), priorityHeap.poll());
+        }
+        assertNull(priorityHeap.poll());
+    }
+
+    @Test
+    void givenBottomUpStrategy_whenPollAll_thenFewerComparisons() {
+        List<Integer> integers = new Random(9).ints(10_000).boxed().toList();
+        long[] comparisons = new long[2];
+        for (PriorityArrayHeap.PollStrategy strategy : PriorityArrayHeap.PollStrategy.values()) {
+            int index = strategy.ordinal();
+            PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(integers.size(),
+                    (l, r) -> {
+                        comparisons[index]++;
+                        return Integer.compare(l, r);
+                    }, strategy);
+            integers.forEach(priorityHeap::add);
+            comparisons[index] = 0;
+            for (int i = 0; i < integers.size(); i++) {
+                priorityHeap.poll();
+            }
+        }
+        assertTrue(comparisons[PriorityArrayHeap.PollStrategy.BOTTOM_UP.ordinal()]
+                < comparisons[PriorityArrayHeap.PollStrategy.STANDARD.ordinal()] * 3 / 5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("GrowthPolicyDataProvider")
+    void givenGrowthPolicy_whenAddOneMoreThanCapacity_thenGrowAccordingly(PriorityArrayHeap.GrowthPolicy policy,
+                                                                         int expectedCapacity) {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(10, null,
+                PriorityArrayHeap.PollStrategy.STANDARD, policy);
+        for (int i = 0; i < 11; i++) {
+            assertTrue(priorityHeap.add(i));
+        }
+        assertEquals(expectedCapacity, priorityHeap.capacity());
+    }
+
+    static Stream<Arguments> GrowthPolicyDataProvider() {
+        return Stream.of(
+                Arguments.of(PriorityArrayHeap.GrowthPolicy.doubling(), 22),
+                Arguments.of(PriorityArrayHeap.GrowthPolicy.oneAndHalf(), 16),
+                Arguments.of(PriorityArrayHeap.GrowthPolicy.fixedIncrement(5), 16),
+                Arguments.of(PriorityArrayHeap.GrowthPolicy.doubling().withMaxCapacity(12), 12));
+    }
+
+    @Test
+    void givenMaxCapacity_whenFull_thenRejectAddAndBulkAdd() {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(2, Comparator.naturalOrder(),
+                PriorityArrayHeap.PollStrategy.STANDARD, PriorityArrayHeap.GrowthPolicy.oneAndHalf().withMaxCapacity(3));
+        assertTrue(priorityHeap.add(3));
+        assertTrue(priorityHeap.add(1));
+        assertTrue(priorityHeap.add(2));
+        assertFalse(priorityHeap.add(0));
+        assertEquals(3, priorityHeap.size());
+
+        priorityHeap.poll();
+        assertThrows(IllegalStateException.class, () -> priorityHeap.addAll(List.of(7, 8)));
+        assertThrows(IllegalStateException.class, () -> priorityHeap.addAll(List.of(7, 8).spliterator()));
+        assertEquals(2, priorityHeap.size());
+        assertEquals(2, priorityHeap.peek());
+        assertThrows(IllegalArgumentException.class, () -> priorityHeap.ensureCapacity(4));
+    }
+
+    @Test
+    void givenAutoShrink_whenBurstDrained_thenCapacityShrinksWithHysteresis() {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(8, null,
+                PriorityArrayHeap.PollStrategy.STANDARD, PriorityArrayHeap.GrowthPolicy.doubling().withAutoShrink());
+        new Random(1).ints(10_000).forEach(priorityHeap::add);
+        int burstCapacity = priorityHeap.capacity();
+        assertThat(burstCapacity).isGreaterThanOrEqualTo(10_000);
+
+        int previous = Integer.MIN_VALUE;
+        while (priorityHeap.size() > 0) {
+            int polled = priorityHeap.poll();
+            assertTrue(previous <= polled);
+            previous = polled;
+            assertThat(priorityHeap.capacity()).isGreaterThanOrEqualTo(priorityHeap.size());
+            if (priorityHeap.capacity() > 8) {
+                assertThat(priorityHeap.size()).isGreaterThanOrEqualTo(priorityHeap.capacity() / 4);
+            }
+        }
+        assertEquals(8, priorityHeap.capacity());
+
+        for (int i = 0; i < 5; i++) {
+            priorityHeap.add(i);
+        }
+        priorityHeap.poll();
+        assertEquals(8, priorityHeap.capacity());
+    }
+
+    @Test
+    void givenLargeCapacity_whenTrimToSizeAndEnsureCapacity_thenCapacityAndRetainedBytesFollow() {
+        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(1000);
+        List.of(5, 3, 9).forEach(priorityHeap::add);
+        long retained = priorityHeap.retainedBytes();
+
+        priorityHeap.trimToSize();
+
+        assertEquals(3, priorityHeap.capacity());
+        assertThat(priorityHeap.retainedBytes()).isLessThan(retained);
+        assertEquals(16 + 3L * ReferenceSize.BYTES, priorityHeap.retainedBytes());
+        priorityHeap.ensureCapacity(100);
+        assertEquals(100, priorityHeap.capacity());
+        assertEquals(3, priorityHeap.poll());
+        assertEquals(5, priorityHeap.poll());
+        assertEquals(9, priorityHeap.poll());
+    }
 }
@@ -8,9 +8,14 @@ import ru.clevertec.course.heap.impl.PriorityArrayListHeap;
 import test.clevertec.course.heap.model.TestComparable;
 import test.clevertec.course.heap.model.TestNotComparable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Spliterator;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -104,8 +109,7 @@ class PriorityArrayListHeapTest {
     void givenList_whenPollAll_thenReturnNull(List<Integer> integers) {
         PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>();
         priorityHeap.addAll(integers);
-        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
-        priorityQueue.addAll(integers);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
         while (!priorityHeap.isEmpty()) {
             priorityHeap.poll();
             priorityQueue.poll();
@@ -159,9 +163,8 @@ class PriorityArrayListHeapTest {
     @MethodSource("IntegerListWithListToRemovePriorityHeapDataProvider")
     void givenIntegerListAndRemoveList_whenRemove_thenReturn(List<Integer> integers, List<Integer> toRemove) {
         PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>();
-        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
 
-        priorityQueue.addAll(integers);
         priorityHeap.addAll(integers);
         toRemove.forEach(r -> {
             priorityHeap.remove(r);
@@ -180,4 +183,255 @@ class PriorityArrayListHeapTest {
                         List.of(-4, 0, -12, 461, 3, 32, 135, 1)));
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @MethodSource("IntegerPriorityHeapDataProvider")
+    void givenBulkSources_whenCreate_thenPollInOrder(List<Integer> integers) {
+        PriorityArrayListHeap<Integer> fromArray = new PriorityArrayListHeap<>();
+        fromArray.addAll(integers.toArray(new Integer[0]));
+        PriorityArrayListHeap<Integer> fromSpliterator = new PriorityArrayListHeap<>();
+        fromSpliterator.addAll(integers.spliterator());
+        List<PriorityArrayListHeap<Integer>> heaps = List.of(
+                new PriorityArrayListHeap<>(integers), fromArray, fromSpliterator);
+        for (PriorityArrayListHeap<Integer> priorityHeap : heaps) {
+            PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+            assertThat(priorityHeap).containsExactlyElementsOf(priorityQueue);
+            while (!priorityQueue.isEmpty()) {
+                assertEquals(priorityQueue.poll(), priorityHeap.poll());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("IntegerPriorityHeapDataProvider")
+    void givenNotEmptyHeap_whenAddAll_thenPollInOrder(List<Integer> integers) {
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(List.of(5, 3, 7, 100, -100));
+        priorityHeap.addAll(integers);
+        priorityHeap.addAll(List.of(8));
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(List.of(5, 3, 7, 100, -100, 8));
+        priorityQueue.addAll(integers);
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll(), priorityHeap.poll());
+        }
+    }
+
+    @Test
+    void givenListWithNull_whenAddAll_thenThrowAndKeepHeap() {
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(List.of(2, 1));
+        assertThrows(NullPointerException.class, () -> priorityHeap.addAll(Arrays.asList(3, null)));
+        assertThat(priorityHeap).containsExactly(1, 2);
+    }
+
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenRandomList_whenPollBatch_thenReturnInOrder(int count, int batch) {
+        List<Integer> integers = new Random(count).ints(count, -100, 100).boxed().toList();
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(integers);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+        while (!priorityQueue.isEmpty()) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < batch && !priorityQueue.isEmpty(); i++) {
+                expected.add(priorityQueue.poll());
+            }
+            List<Integer> actual = new ArrayList<>();
+            assertEquals(expected.size(), priorityHeap.poll(batch, actual));
+            assertEquals(expected, actual);
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+        }
+        assertEquals(0, priorityHeap.poll(batch, new ArrayList<>()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenRandomList_whenDrainTo_thenFillInOrder(int count, int batch) {
+        List<Integer> integers = new Random(count).ints(count, -100, 100).boxed().toList();
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(integers);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+        Integer[] dest = new Integer[batch];
+        int drained;
+        while ((drained = priorityHeap.drainTo(dest)) > 0) {
+            for (int i = 0; i < drained; i++) {
+                assertEquals(priorityQueue.poll(), dest[i]);
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+        }
+        assertTrue(priorityQueue.isEmpty());
+    }
+
+    static Stream<Arguments> BatchPollDataProvider() {
+        return Stream.of(
+                Arguments.of(0, 4),
+                Arguments.of(100, 1),
+                Arguments.of(100, 7),
+                Arguments.of(100, 64),
+                Arguments.of(100, 1000));
+    }
+
+    @Test
+    void givenNegativeCount_whenPollBatch_thenThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PriorityArrayListHeap<Integer>().poll(-1, new ArrayList<>()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenRandomOperations_whenReplaceTopAndPushPop_thenMatchPollAndAdd(int count, int seed) {
+        Random random = new Random(seed);
+        List<Integer> integers = random.ints(count, -100, 100).boxed().toList();
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(integers);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(integers);
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(200) - 100;
+            if (random.nextBoolean()) {
+                Integer expected = priorityQueue.poll();
+                priorityQueue.add(value);
+                assertEquals(expected, priorityHeap.replaceTop(value));
+            } else {
+                priorityQueue.add(value);
+                assertEquals(priorityQueue.poll(), priorityHeap.pushPop(value));
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+        }
+    }
+
+    @Test
+    void givenElementBeforeHead_whenPushPop_thenReturnItWithoutChange() {
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(List.of(5, 7, 9));
+        Integer element = 3;
+        assertSame(element, priorityHeap.pushPop(element));
+        assertEquals(3, priorityHeap.size());
+        assertEquals(5, priorityHeap.peek());
+        assertThrows(NullPointerException.class, () -> priorityHeap.replaceTop(null));
+        assertThrows(NullPointerException.class, () -> priorityHeap.pushPop(null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenRandomList_whenSortedIterator_thenPriorityOrderAndHeapUnchanged(int count, int seed) {
+        List<Integer> integers = new Random(seed).ints(count, -100, 100).boxed().toList();
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(integers);
+        List<Integer> expected = integers.stream().sorted().toList();
+
+        List<Integer> actual = new ArrayList<>();
+        priorityHeap.sortedIterator().forEachRemaining(actual::add);
+
+        assertEquals(expected, actual);
+        assertEquals(expected, priorityHeap.sortedStream().toList());
+        assertEquals(count, priorityHeap.size());
+    }
+
+    @Test
+    void givenHeap_whenDrainingStreamWithLimit_thenPollOnlyLimit() {
+        List<Integer> integers = new Random(3).ints(1000, 0, 10_000).boxed().toList();
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(integers);
+
+        List<Integer> head = priorityHeap.drainingStream().limit(10).toList();
+
+        assertEquals(integers.stream().sorted().limit(10).toList(), head);
+        assertEquals(990, priorityHeap.size());
+    }
+
+    @Test
+    void givenHeap_whenSpliterator_thenUnorderedAndSplittable() {
+        List<Integer> integers = new Random(4).ints(10_000, 0, 10_000).boxed().toList();
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(integers);
+
+        Spliterator<Integer> spliterator = priorityHeap.spliterator();
+
+        assertFalse(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertNotNull(spliterator.trySplit());
+        assertEquals(integers.stream().mapToLong(Integer::longValue).sum(),
+                priorityHeap.stream().parallel().mapToLong(Integer::longValue).sum());
+    }
+
+    @ParameterizedTest
+    @MethodSource("BatchPollDataProvider")
+    void givenCancellationStorm_whenLazyRemove_thenPollMatchesPriorityQueue(int count, int seed) {
+        Random random = new Random(seed);
+        List<Integer> added = new ArrayList<>();
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(16, null, 0.25);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
+        int next = 0;
+        for (int i = 0; i < count * 4 + 100; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                Integer value = next++ * 7919 % 100_003;
+                added.add(value);
+                priorityHeap.add(value);
+                priorityQueue.add(value);
+            } else if (operation < 9 && !added.isEmpty()) {
+                Integer value = added.get(random.nextInt(added.size()));
+                assertEquals(priorityQueue.remove(value), priorityHeap.remove(value));
+            } else if (operation == 9) {
+                assertEquals(priorityQueue.poll(), priorityHeap.poll());
+            } else {
+                Integer value = next++ * 7919 % 100_003;
+                assertEquals(priorityQueue.poll(), priorityHeap.replaceTop(value));
+                priorityQueue.add(value);
+                added.add(value);
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            assertEquals(priorityQueue.peek(), priorityHeap.peek());
+            assertTrue(priorityHeap.tombstones() <= 0.25 * (priorityHeap.size() + priorityHeap.tombstones()));
+        }
+        List<Integer> polled = new ArrayList<>();
+        priorityHeap.poll(priorityHeap.size(), polled);
+        assertEquals(priorityQueue.stream().sorted().toList(), polled);
+        assertEquals(0, priorityHeap.tombstones());
+    }
+
+    @Test
+    void givenLazyHeap_whenTombstonesPassThreshold_thenCompact() {
+        List<Integer> integers = new Random(5).ints(100, 1000, 100_000).boxed().toList();
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(100, null, 0.25);
+        priorityHeap.addAll(integers);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(priorityHeap.remove(integers.get(i)));
+        }
+        assertEquals(25, priorityHeap.tombstones());
+        assertEquals(75, priorityHeap.size());
+        assertTrue(priorityHeap.remove(integers.get(25)));
+
+        assertEquals(0, priorityHeap.tombstones());
+        assertEquals(74, priorityHeap.size());
+        assertThat(priorityHeap.sortedStream().toList())
+                .isEqualTo(integers.subList(26, 100).stream().sorted().toList());
+    }
+
+    @Test
+    void givenLazyHeap_whenRemoveEqualButNotSameOrTwice_thenFalse() {
+        PriorityArrayListHeap<String> priorityHeap = new PriorityArrayListHeap<>(4, null, 0.5);
+        String element = new String("b");
+        priorityHeap.addAll(List.of("a", element, "c"));
+
+        assertFalse(priorityHeap.remove(new String("b")));
+        assertTrue(priorityHeap.remove(element));
+        assertFalse(priorityHeap.remove(element));
+        assertEquals(List.of("a", "c"), List.of(priorityHeap.poll(), priorityHeap.poll()));
+        assertNull(priorityHeap.poll());
+    }
+
+    @Test
+    void givenLazyHeap_whenIterate_thenSkipRemovedAndRejectModification() {
+        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(8, null, 0.9);
+        List<Integer> integers = List.of(1000, 2000, 3000, 4000);
+        priorityHeap.addAll(integers);
+        priorityHeap.remove(integers.get(2));
+
+        Iterator<Integer> iterator = priorityHeap.iterator();
+
+        assertThat(priorityHeap).containsExactlyInAnyOrder(1000, 2000, 4000);
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Test
+    void givenIllegalCompactionThreshold_whenCreate_thenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new PriorityArrayListHeap<Integer>(8, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PriorityArrayListHeap<Integer>(8, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PriorityArrayListHeap<Integer>(8, null, Double.NaN));
+    }
+}
@@ -0,0 +1,160 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.executor.PriorityExecutorService;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatch latency per priority class under load. A background thread keeps about
+ * {@code backlog} CPU-bound tasks of random priority queued; every benchmark operation
+ * submits an empty task of one class and waits for it, so the sample-time percentiles
+ * (p50, p99, ...) of {@code high}, {@code normal} and {@code low} are the per-class
+ * dispatch latencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class PriorityExecutorBenchmark {
+    private static final int HIGH = 0;
+    private static final int NORMAL = 5;
+    private static final int LOW = 10;
+
+    @Param({"4"})
+    private int workers;
+
+    @Param({"1000"})
+    private int backlog;
+
+    // PRIORITY_EXECUTOR_VIRTUAL needs Java 21+: select it with -p executorType=PRIORITY_EXECUTOR_VIRTUAL
+    @Param({"PRIORITY_EXECUTOR", "THREAD_POOL_PRIORITY_BLOCKING_QUEUE"})
+    private ExecutorType executorType;
+
+    private Submitter submitter;
+    private ExecutorService executor;
+    private Thread loadGenerator;
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (executorType) {
+            case PRIORITY_EXECUTOR, PRIORITY_EXECUTOR_VIRTUAL -> {
+                PriorityExecutorService priorityExecutor = new PriorityExecutorService(workers, Duration.ofMillis(1),
+                        executorType == ExecutorType.PRIORITY_EXECUTOR
+                                ? Executors.defaultThreadFactory()
+                                : PriorityExecutorService.virtualThreadFactory());
+                executor = priorityExecutor;
+                submitter = priorityExecutor::submit;
+            }
+            case THREAD_POOL_PRIORITY_BLOCKING_QUEUE -> {
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                        new PriorityBlockingQueue<>());
+                pool.prestartAllCoreThreads();
+                AtomicLong sequence = new AtomicLong();
+                executor = pool;
+                submitter = (task, priority) -> {
+                    ComparableTask<?> comparable = new ComparableTask<>(task, priority, sequence.getAndIncrement());
+                    pool.execute(comparable);
+                    return comparable;
+                };
+            }
+        }
+        running = true;
+        loadGenerator = new Thread(this::generateLoad, "load-generator");
+        loadGenerator.setDaemon(true);
+        loadGenerator.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        loadGenerator.join();
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void generateLoad() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            if (queued.get() < backlog) {
+                queued.incrementAndGet();
+                submitter.submit(() -> {
+                    spin(20_000);
+                    queued.decrementAndGet();
+                    return null;
+                }, HIGH + random.nextInt(LOW + 1));
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    @Benchmark
+    public Object high() throws ExecutionException, InterruptedException {
+        return submitter.submit(() -> null, HIGH).get();
+    }
+
+    @Benchmark
+    public Object normal() throws ExecutionException, InterruptedException {
+        return submitter.submit(() -> null, NORMAL).get();
+    }
+
+    @Benchmark
+    public Object low() throws ExecutionException, InterruptedException {
+        return submitter.submit(() -> null, LOW).get();
+    }
+
+    private static long spin(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long iterations = 0;
+        while (System.nanoTime() < deadline) {
+            iterations++;
+        }
+        return iterations;
+    }
+
+    public enum ExecutorType {
+        PRIORITY_EXECUTOR,
+        PRIORITY_EXECUTOR_VIRTUAL,
+        THREAD_POOL_PRIORITY_BLOCKING_QUEUE
+    }
+
+    @FunctionalInterface
+    private interface Submitter {
+        Future<?> submit(Callable<?> task, int priority);
+    }
+
+    private static final class ComparableTask<V> extends FutureTask<V> implements Comparable<ComparableTask<?>> {
+        private final int priority;
+        private final long sequence;
+
+        private ComparableTask(Callable<V> callable, int priority, long sequence) {
+            super(callable);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(ComparableTask<?> other) {
+            int byPriority = Integer.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+}
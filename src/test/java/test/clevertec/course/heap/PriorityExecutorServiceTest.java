@@ -0,0 +1,217 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import ru.clevertec.course.heap.executor.PriorityExecutorService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityExecutorServiceTest {
+
+    @Test
+    void givenBusyWorker_whenSubmitMixedPriorities_thenRunInPriorityOrder() throws Exception {
+        PriorityExecutorService executor = new PriorityExecutorService(1, Duration.ofHours(1),
+                Executors.defaultThreadFactory());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        }, 0);
+        started.await();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int priority : new int[]{3, 1, 4, 1, 5, 0, 2}) {
+            futures.add(executor.submit(() -> order.add(priority), priority));
+        }
+        release.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(0, 1, 1, 2, 3, 4, 5), order);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenAging_whenLowPriorityTaskWaitsLongEnough_thenRunsBeforeNewerUrgentTask() throws Exception {
+        PriorityExecutorService executor = new PriorityExecutorService(1, Duration.ofMillis(1),
+                Executors.defaultThreadFactory());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        }, 0);
+        started.await();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Future<?> old = executor.submit(() -> order.add("old"), 5);
+        Thread.sleep(50);
+        Future<?> urgent = executor.submit(() -> order.add("urgent"), 0);
+        release.countDown();
+        old.get(10, TimeUnit.SECONDS);
+        urgent.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("old", "urgent"), order);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenTasksSubmittedFromOneWorker_whenRun_thenStolenByOtherWorkers() throws Exception {
+        PriorityExecutorService executor = new PriorityExecutorService(4);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(200);
+        executor.submit(() -> {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> {
+                    threads.add(Thread.currentThread());
+                    sleep(1);
+                    done.countDown();
+                }, i % 3);
+            }
+        }).get(10, TimeUnit.SECONDS);
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertTrue(threads.size() > 1);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    void givenShutdown_whenSubmit_thenRejectButFinishQueuedTasks() throws Exception {
+        PriorityExecutorService executor = new PriorityExecutorService(2);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(executor.submit(() -> sleep(1), i));
+        }
+        executor.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> { }, 0));
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (Future<?> future : futures) {
+            assertTrue(future.isDone());
+        }
+    }
+
+    @Test
+    void givenQueuedTasks_whenShutdownNow_thenReturnPendingAndTerminate() throws Exception {
+        PriorityExecutorService executor = new PriorityExecutorService(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return null;
+        }, 0);
+        started.await();
+        for (int i = 0; i < 10; i++) {
+            executor.submit(() -> { }, i);
+        }
+        List<Runnable> pending = executor.shutdownNow();
+        assertEquals(10, pending.size());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenConcurrentSubmitters_whenShutdownNow_thenEveryAcceptedTaskRunsOrIsReturned() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            PriorityExecutorService executor = new PriorityExecutorService(2);
+            List<Future<?>> accepted = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread submitter = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        for (int i = 0; ; i++) {
+                            accepted.add(executor.submit(() -> { }, i % 5));
+                        }
+                    } catch (RejectedExecutionException e) {
+                        // shut down
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            started.await();
+            List<Runnable> pending = executor.shutdownNow();
+            for (Thread submitter : submitters) {
+                submitter.join(10_000);
+            }
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            Set<Object> returned = Collections.newSetFromMap(new IdentityHashMap<>());
+            returned.addAll(pending);
+            for (Future<?> future : accepted) {
+                assertTrue(future.isDone() || returned.contains(future), "stranded task");
+            }
+        }
+    }
+
+    @Test
+    void givenConcurrentSubmitters_whenShutdown_thenEveryAcceptedTaskCompletes() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            PriorityExecutorService executor = new PriorityExecutorService(2);
+            List<Future<?>> accepted = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread submitter = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        for (int i = 0; ; i++) {
+                            accepted.add(executor.submit(() -> { }, i % 5));
+                            Thread.yield();
+                        }
+                    } catch (RejectedExecutionException e) {
+                        // shut down
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            started.await();
+            executor.shutdown();
+            for (Thread submitter : submitters) {
+                submitter.join(10_000);
+            }
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            for (Future<?> future : accepted) {
+                assertTrue(future.isDone(), "lost task");
+            }
+        }
+    }
+
+    @Test
+    void givenRuntime_whenVirtualThreadFactory_thenAvailableOnlyFromJava21() throws Exception {
+        if (Runtime.version().feature() < 21) {
+            assertThrows(UnsupportedOperationException.class, PriorityExecutorService::virtualThreadFactory);
+            return;
+        }
+        ThreadFactory factory = PriorityExecutorService.virtualThreadFactory();
+        PriorityExecutorService executor = new PriorityExecutorService(2, Duration.ofMillis(10), factory);
+        assertEquals(42, executor.submit(() -> 42, 1).get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -2,101 +2,252 @@ package test.clevertec.course.heap;
 
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
+import ru.clevertec.course.heap.PriorityHeap;
+import ru.clevertec.course.heap.impl.DaryPriorityArrayHeap;
 import ru.clevertec.course.heap.impl.PriorityArrayHeap;
 import ru.clevertec.course.heap.impl.PriorityArrayListHeap;
+import test.clevertec.course.heap.model.TestLongKeyed;
 
 import java.util.Comparator;
 import java.util.PriorityQueue;
+import java.util.SplittableRandom;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Run with {@code ./gradlew jmh}; the build configures {@code -prof gc} and writes JSON results
+ * to {@code build/results/jmh/results.json}. The default parameters are a small smoke set,
+ * so a plain run stays short. Select the full matrix with {@code -p}, e.g.
+ * {@code -p size=100,10000,1000000,10000000 -p distribution=RANDOM,SORTED,REVERSED,DUPLICATES
+ * -p elementType=INTEGER,LONG_KEYED,STRING -p addPercent=25,50,75
+ * -p heapType=PRIORITY_ARRAY_HEAP,PRIORITY_ARRAY_LIST_HEAP,DARY_PRIORITY_ARRAY_HEAP,PRIORITY_QUEUE}.
+ */
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
 @Warmup(iterations = 2)
-@Measurement(iterations = 2)
+@Measurement(iterations = 3)
 @Fork(value = 1, warmups = 1)
 public class PriorityHeapBenchmark {
-    private static final int ITERATION_COUNT = 10000;
-    private PriorityArrayListHeap<Integer> globalArrayListHeap;
-    private PriorityArrayHeap<Integer> globalPriorityArrayHeap;
-
-    private PriorityQueue<Integer> globalQueue;
-
-    @Setup(Level.Invocation)
-    public void setupInvokation() {
-        globalArrayListHeap = new PriorityArrayListHeap<>();
-        globalQueue = new PriorityQueue<>();
-        globalPriorityArrayHeap = new PriorityArrayHeap<>();
-        for (int i = 0; i < ITERATION_COUNT; i++) {
-            globalArrayListHeap.add(i);
-            globalQueue.add(i);
-            globalPriorityArrayHeap.add(i);
+    private static final int OPERATION_PATTERN_LENGTH = 1024;
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"RANDOM"})
+    private Distribution distribution;
+
+    @Param({"INTEGER"})
+    private ElementType elementType;
+
+    @Param({"PRIORITY_ARRAY_HEAP", "PRIORITY_QUEUE"})
+    private HeapType heapType;
+
+    private Object[] input;
+
+    @Setup(Level.Trial)
+    public void setupInput() {
+        SplittableRandom random = new SplittableRandom(size);
+        input = new Object[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = elementType.create(distribution.next(random, i, size));
         }
     }
 
-
     @Benchmark
-    public boolean benchmarkStandardPriorityQueueAdd(Blackhole blackhole) {
-        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(Comparator.reverseOrder());
-        for (int i = 0; i < ITERATION_COUNT; i++) {
-            priorityQueue.add(i);
+    public PriorityHeap<Object> fill() {
+        PriorityHeap<Object> heap = heapType.create(elementType.comparator);
+        for (Object o : input) {
+            heap.add(o);
         }
-        boolean res = priorityQueue.size() == ITERATION_COUNT;
-        blackhole.consume(res);
-        return res;
+        return heap;
     }
 
     @Benchmark
-    public boolean benchmarkStandardPriorityQueuePoll(Blackhole blackhole) {
-        for (int i = 0; i < ITERATION_COUNT; i++) {
-            globalQueue.poll();
+    public void fillAndDrain(Blackhole blackhole) {
+        PriorityHeap<Object> heap = fill();
+        Object polled;
+        while ((polled = heap.poll()) != null) {
+            blackhole.consume(polled);
         }
-        boolean res = globalQueue.isEmpty();
-        blackhole.consume(res);
-        return res;
     }
 
     @Benchmark
-    public boolean benchmarkCustomPriorityArrayListHeapAdd(Blackhole blackhole) {
-        PriorityArrayListHeap<Integer> priorityHeap = new PriorityArrayListHeap<>(Comparator.reverseOrder());
-        for (int i = 0; i < ITERATION_COUNT; i++) {
-            priorityHeap.add(i);
+    public Object mixed(MixedState state) {
+        int i = state.cursor++ & (OPERATION_PATTERN_LENGTH - 1);
+        if (state.operations[i]) {
+            return state.heap.add(input[state.next()]);
         }
-        boolean res = priorityHeap.size() == ITERATION_COUNT;
-        blackhole.consume(res);
-        return res;
+        return state.heap.poll();
     }
 
+    @State(Scope.Thread)
+    public static class MixedState {
+        @Param({"50"})
+        private int addPercent;
 
-    @Benchmark
-    public boolean benchmarkPriorityArrayListHeapPoll(Blackhole blackhole) {
-        for (int i = 0; i < ITERATION_COUNT; i++) {
-            globalArrayListHeap.poll();
+        private PriorityHeap<Object> heap;
+        private Object[] input;
+        private boolean[] operations;
+        private int cursor;
+        private int inputCursor;
+        private int inputSize;
+
+        /**
+         * Builds the operation pattern: the first half adds with probability {@code addPercent},
+         * never letting the heap drift by more than half its size, and the second half replays
+         * it backwards with adds and polls swapped. Every pass over the pattern therefore ends
+         * at the filled size, so the measured loop needs no per-invocation fixture.
+         */
+        @Setup(Level.Iteration)
+        public void setup(PriorityHeapBenchmark benchmark) {
+            heap = benchmark.fill();
+            input = benchmark.input;
+            inputSize = input.length;
+            int bound = Math.max(1, heap.size() / 2);
+            SplittableRandom random = new SplittableRandom(addPercent);
+            operations = new boolean[OPERATION_PATTERN_LENGTH];
+            int half = OPERATION_PATTERN_LENGTH / 2;
+            int drift = 0;
+            for (int i = 0; i < half; i++) {
+                boolean add = random.nextInt(100) < addPercent;
+                if (drift == bound) {
+                    add = false;
+                } else if (drift == -bound) {
+                    add = true;
+                }
+                operations[i] = add;
+                drift += add ? 1 : -1;
+            }
+            for (int i = half; i < OPERATION_PATTERN_LENGTH; i++) {
+                operations[i] = !operations[OPERATION_PATTERN_LENGTH - 1 - i];
+            }
+            cursor = 0;
+            inputCursor = 0;
+        }
+
+        private int next() {
+            int i = inputCursor++;
+            if (inputCursor == inputSize) {
+                inputCursor = 0;
+            }
+            return i;
         }
-        boolean res = globalArrayListHeap.isEmpty();
-        blackhole.consume(res);
-        return res;
     }
 
-    @Benchmark
-    public boolean benchmarkCustomPriorityArrayHeapAdd(Blackhole blackhole) {
-        PriorityArrayHeap<Integer> priorityHeap = new PriorityArrayHeap<>(Comparator.reverseOrder());
-        for (int i = 0; i < ITERATION_COUNT; i++) {
-            priorityHeap.add(i);
+    public enum Distribution {
+        RANDOM {
+            @Override
+            int next(SplittableRandom random, int index, int size) {
+                return random.nextInt();
+            }
+        },
+        SORTED {
+            @Override
+            int next(SplittableRandom random, int index, int size) {
+                return index;
+            }
+        },
+        REVERSED {
+            @Override
+            int next(SplittableRandom random, int index, int size) {
+                return size - index;
+            }
+        },
+        DUPLICATES {
+            @Override
+            int next(SplittableRandom random, int index, int size) {
+                return random.nextInt(16);
+            }
+        };
+
+        abstract int next(SplittableRandom random, int index, int size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public enum ElementType {
+        INTEGER((Comparator<Object>) (Comparator<?>) Comparator.<Integer>naturalOrder()) {
+            @Override
+            Object create(int value) {
+                return value;
+            }
+        },
+        LONG_KEYED((Comparator<Object>) (Comparator<?>) TestLongKeyed.BY_KEY) {
+            @Override
+            Object create(int value) {
+                return new TestLongKeyed(value, null);
+            }
+        },
+        STRING((Comparator<Object>) (Comparator<?>) Comparator.<String>naturalOrder()) {
+            @Override
+            Object create(int value) {
+                return String.format("%011d", (long) value - Integer.MIN_VALUE);
+            }
+        };
+
+        private final Comparator<Object> comparator;
+
+        ElementType(Comparator<Object> comparator) {
+            this.comparator = comparator;
         }
-        boolean res = priorityHeap.size() == ITERATION_COUNT;
-        blackhole.consume(res);
-        return res;
+
+        abstract Object create(int value);
     }
 
-    @Benchmark
-    public boolean benchmarkPriorityArrayHeapPoll(Blackhole blackhole) {
-        for (int i = 0; i < ITERATION_COUNT; i++) {
-            globalPriorityArrayHeap.poll();
+    public enum HeapType {
+        PRIORITY_ARRAY_HEAP {
+            @Override
+            PriorityHeap<Object> create(Comparator<Object> comparator) {
+                return new PriorityArrayHeap<>(comparator);
+            }
+        },
+        PRIORITY_ARRAY_LIST_HEAP {
+            @Override
+            PriorityHeap<Object> create(Comparator<Object> comparator) {
+                return new PriorityArrayListHeap<>(comparator);
+            }
+        },
+        DARY_PRIORITY_ARRAY_HEAP {
+            @Override
+            PriorityHeap<Object> create(Comparator<Object> comparator) {
+                return new DaryPriorityArrayHeap<>(4, comparator);
+            }
+        },
+        PRIORITY_QUEUE {
+            @Override
+            PriorityHeap<Object> create(Comparator<Object> comparator) {
+                return new PriorityQueueHeap(comparator);
+            }
+        };
+
+        abstract PriorityHeap<Object> create(Comparator<Object> comparator);
+    }
+
+    private static final class PriorityQueueHeap implements PriorityHeap<Object> {
+        private final PriorityQueue<Object> queue;
+
+        private PriorityQueueHeap(Comparator<Object> comparator) {
+            this.queue = new PriorityQueue<>(comparator);
+        }
+
+        @Override
+        public boolean add(Object entity) {
+            return queue.add(entity);
+        }
+
+        @Override
+        public Object peek() {
+            return queue.peek();
+        }
+
+        @Override
+        public Object poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
         }
-        boolean res = globalPriorityArrayHeap.size() < 1;
-        blackhole.consume(res);
-        return res;
     }
 
 }
@@ -0,0 +1,80 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.PriorityHeap;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+import ru.clevertec.course.heap.impl.RadixPriorityHeap;
+import test.clevertec.course.heap.model.TestLongKeyed;
+
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hold model of a discrete event simulation: every step polls the earliest event and
+ * schedules a new one a random delay later, keeping the number of pending events constant.
+ * The full matrix is {@code -p pending=1000,100000 -p maxDelay=1024,1048576}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class RadixPriorityHeapBenchmark {
+    private static final int STEPS = 1_000_000;
+
+    @Param({"1000"})
+    private int pending;
+
+    @Param({"1024"})
+    private int maxDelay;
+
+    private int[] delays;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(pending);
+        delays = new int[STEPS + pending];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = random.nextInt(maxDelay);
+        }
+    }
+
+    @Benchmark
+    public long radixPriorityHeap() {
+        return simulate(new RadixPriorityHeap<>(TestLongKeyed::key));
+    }
+
+    @Benchmark
+    public long priorityArrayHeap() {
+        return simulate(new PriorityArrayHeap<>(TestLongKeyed.BY_KEY));
+    }
+
+    @Benchmark
+    public long priorityQueue() {
+        PriorityQueue<TestLongKeyed> queue = new PriorityQueue<>(TestLongKeyed.BY_KEY);
+        for (int i = 0; i < pending; i++) {
+            queue.add(new TestLongKeyed(delays[i], null));
+        }
+        long now = 0;
+        for (int i = pending; i < delays.length; i++) {
+            now = queue.poll().key();
+            queue.add(new TestLongKeyed(now + delays[i], null));
+        }
+        return now;
+    }
+
+    private long simulate(PriorityHeap<TestLongKeyed> heap) {
+        for (int i = 0; i < pending; i++) {
+            heap.add(new TestLongKeyed(delays[i], null));
+        }
+        long now = 0;
+        for (int i = pending; i < delays.length; i++) {
+            now = heap.poll().key();
+            heap.add(new TestLongKeyed(now + delays[i], null));
+        }
+        return now;
+    }
+
+}
@@ -0,0 +1,77 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.clevertec.course.heap.impl.RadixPriorityHeap;
+import test.clevertec.course.heap.model.TestLongKeyed;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixPriorityHeapTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {Long.MIN_VALUE / 2, -1000, 0, Long.MAX_VALUE / 2})
+    void givenMonotoneSimulation_whenPoll_thenKeysMatchPriorityQueue(long start) {
+        Random random = new Random(start);
+        RadixPriorityHeap<TestLongKeyed> priorityHeap = new RadixPriorityHeap<>(TestLongKeyed::key);
+        PriorityQueue<TestLongKeyed> priorityQueue = new PriorityQueue<>(TestLongKeyed.BY_KEY);
+        for (int i = 0; i < 200; i++) {
+            TestLongKeyed event = new TestLongKeyed(start + random.nextInt(1000), "e" + i);
+            priorityHeap.add(event);
+            priorityQueue.add(event);
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(priorityQueue.peek().key(), priorityHeap.peek().key());
+            TestLongKeyed polled = priorityHeap.poll();
+            assertEquals(priorityQueue.poll().key(), polled.key());
+            assertEquals(polled.key(), priorityHeap.lastKey());
+            int followUps = random.nextInt(3);
+            for (int j = 0; j < followUps; j++) {
+                TestLongKeyed event = new TestLongKeyed(polled.key() + random.nextInt(1 << random.nextInt(20)), "f" + i);
+                priorityHeap.add(event);
+                priorityQueue.add(event);
+            }
+            assertEquals(priorityQueue.size(), priorityHeap.size());
+            if (priorityQueue.isEmpty()) {
+                break;
+            }
+        }
+        while (!priorityQueue.isEmpty()) {
+            assertEquals(priorityQueue.poll().key(), priorityHeap.poll().key());
+        }
+        assertNull(priorityHeap.poll());
+        assertNull(priorityHeap.peek());
+    }
+
+    @Test
+    void givenKeyBelowLastPolled_whenAdd_thenThrow() {
+        RadixPriorityHeap<Long> priorityHeap = new RadixPriorityHeap<>(Long::longValue);
+        priorityHeap.add(10L);
+        priorityHeap.add(20L);
+        assertEquals(10L, priorityHeap.poll());
+        assertThrows(IllegalArgumentException.class, () -> priorityHeap.add(9L));
+        assertTrue(priorityHeap.add(10L));
+        assertEquals(10L, priorityHeap.poll());
+        assertEquals(20L, priorityHeap.poll());
+    }
+
+    @Test
+    void givenPeek_whenAddSmallerKey_thenAccepted() {
+        RadixPriorityHeap<Long> priorityHeap = new RadixPriorityHeap<>(Long::longValue);
+        priorityHeap.add(100L);
+        assertEquals(100L, priorityHeap.peek());
+        priorityHeap.add(50L);
+        assertEquals(50L, priorityHeap.poll());
+    }
+
+    @Test
+    void givenNull_whenAdd_thenThrow() {
+        RadixPriorityHeap<Long> priorityHeap = new RadixPriorityHeap<>(Long::longValue);
+        assertThrows(NullPointerException.class, () -> priorityHeap.add(null));
+    }
+
+}
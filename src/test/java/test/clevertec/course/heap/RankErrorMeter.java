@@ -0,0 +1,76 @@
+package test.clevertec.course.heap;
+
+import ru.clevertec.course.heap.PriorityHeap;
+
+import java.util.Random;
+
+/**
+ * Measures how far a relaxed heap drifts from strict order: fills the heap with a shuffled
+ * permutation of {@code [0, size)}, polls everything and, for each polled value, counts how
+ * many smaller values were still in the heap at that moment.
+ */
+public final class RankErrorMeter {
+    private final int size;
+    private final long seed;
+
+    public RankErrorMeter(int size, long seed) {
+        if (size < 1) throw new IllegalArgumentException("Illegal size: " + size);
+        this.size = size;
+        this.seed = seed;
+    }
+
+    public Result measure(PriorityHeap<Integer> heap) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+        for (int value : values) {
+            heap.add(value);
+        }
+
+        int[] remaining = new int[size + 1];
+        for (int i = 1; i <= size; i++) {
+            remaining[i]++;
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                remaining[parent] += remaining[i];
+            }
+        }
+        long polls = 0;
+        long totalRankError = 0;
+        long maxRankError = 0;
+        Integer value;
+        while ((value = heap.poll()) != null) {
+            long rankError = countBelow(remaining, value);
+            for (int i = value + 1; i <= size; i += i & -i) {
+                remaining[i]--;
+            }
+            polls++;
+            totalRankError += rankError;
+            maxRankError = Math.max(maxRankError, rankError);
+        }
+        return new Result(polls, totalRankError, maxRankError);
+    }
+
+    private static long countBelow(int[] remaining, int value) {
+        long count = 0;
+        for (int i = value; i > 0; i -= i & -i) {
+            count += remaining[i];
+        }
+        return count;
+    }
+
+    public record Result(long polls, long totalRankError, long maxRankError) {
+        public double meanRankError() {
+            return polls == 0 ? 0 : (double) totalRankError / polls;
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.PriorityHeap;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+import ru.clevertec.course.heap.impl.PriorityArrayListHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * K-way merge of sorted runs: the heap holds the current head of every run and each step
+ * replaces the polled head with the next element of the same run. Add
+ * {@code -p runs=16,1024} for a wide merge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class ReplaceTopBenchmark {
+    private static final Comparator<Cursor> BY_HEAD = Comparator.comparingInt(Cursor::head);
+
+    @Param({"16"})
+    private int runs;
+
+    @Param({"1000"})
+    private int runLength;
+
+    @Param({"PRIORITY_ARRAY_HEAP", "PRIORITY_ARRAY_LIST_HEAP"})
+    private HeapType heapType;
+
+    private int[][] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(runs);
+        data = new int[runs][];
+        for (int i = 0; i < runs; i++) {
+            data[i] = random.ints(runLength).toArray();
+            Arrays.sort(data[i]);
+        }
+    }
+
+    @Benchmark
+    public long pollAndAdd() {
+        PriorityHeap<Cursor> heap = fill();
+        long checksum = 0;
+        Cursor cursor;
+        while ((cursor = heap.poll()) != null) {
+            checksum += cursor.head();
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long replaceTop() {
+        PriorityHeap<Cursor> heap = fill();
+        long checksum = 0;
+        Cursor cursor;
+        while ((cursor = heap.peek()) != null) {
+            checksum += cursor.head();
+            if (cursor.advance()) {
+                heap.replaceTop(cursor);
+            } else {
+                heap.poll();
+            }
+        }
+        return checksum;
+    }
+
+    private PriorityHeap<Cursor> fill() {
+        PriorityHeap<Cursor> heap = heapType == HeapType.PRIORITY_ARRAY_HEAP
+                ? new PriorityArrayHeap<>(runs, BY_HEAD)
+                : new PriorityArrayListHeap<>(runs, BY_HEAD);
+        for (int[] run : data) {
+            heap.add(new Cursor(run));
+        }
+        return heap;
+    }
+
+    public enum HeapType {
+        PRIORITY_ARRAY_HEAP,
+        PRIORITY_ARRAY_LIST_HEAP
+    }
+
+    private static final class Cursor {
+        private final int[] run;
+        private int position;
+
+        private Cursor(int[] run) {
+            this.run = run;
+        }
+
+        private int head() {
+            return run[position];
+        }
+
+        private boolean advance() {
+            return ++position < run.length;
+        }
+    }
+
+}
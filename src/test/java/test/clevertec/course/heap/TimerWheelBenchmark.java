@@ -0,0 +1,117 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.impl.IndexedPriorityArrayHeap;
+import ru.clevertec.course.heap.timer.TimerWheel;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Network-style timeouts: every operation schedules a timer, most timers are cancelled
+ * before they fire, and the clock advances every {@code OPS_PER_ADVANCE} operations.
+ * Scores are timer operations (schedule, cancel or fire) per second on one thread. The full
+ * matrix is {@code -p pending=10000,1000000 -p maxDelay=1000000000,600000000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class TimerWheelBenchmark {
+    private static final int OPS = 1 << 20;
+    private static final int OPS_PER_ADVANCE = 64;
+    private static final long TICK = 1_000_000;
+    private static final Comparator<Deadline> BY_DEADLINE = Comparator.comparingLong(Deadline::deadline);
+
+    @Param({"10000"})
+    private int pending;
+
+    @Param({"1000000000"})
+    private long maxDelay;
+
+    @Param({"90"})
+    private int cancelPercent;
+
+    private long[] delays;
+    private boolean[] cancels;
+    private int[] victims;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(pending);
+        delays = new long[OPS + pending];
+        cancels = new boolean[OPS];
+        victims = new int[OPS];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = random.nextLong(maxDelay);
+        }
+        for (int i = 0; i < OPS; i++) {
+            cancels[i] = random.nextInt(100) < cancelPercent;
+            victims[i] = random.nextInt(pending);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    @SuppressWarnings("unchecked")
+    public long timerWheel() {
+        TimerWheel<Deadline> wheel = new TimerWheel<>(0, TICK);
+        TimerWheel.Timeout<Deadline>[] live = new TimerWheel.Timeout[pending];
+        for (int i = 0; i < pending; i++) {
+            live[i] = wheel.schedule(new Deadline(delays[i]), delays[i]);
+        }
+        long now = 0;
+        long fired = 0;
+        for (int i = 0; i < OPS; i++) {
+            int victim = victims[i];
+            if (cancels[i]) {
+                wheel.cancel(live[victim]);
+            }
+            long deadline = now + delays[pending + i];
+            live[victim] = wheel.schedule(new Deadline(deadline), deadline);
+            if (i % OPS_PER_ADVANCE == 0) {
+                now += TICK;
+                fired += wheel.advanceTo(now, deadlineOf -> {
+                });
+            }
+        }
+        return fired;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    @SuppressWarnings("unchecked")
+    public long indexedPriorityArrayHeap() {
+        IndexedPriorityArrayHeap<Deadline> heap = new IndexedPriorityArrayHeap<>(pending, BY_DEADLINE);
+        IndexedPriorityArrayHeap.Handle<Deadline>[] live = new IndexedPriorityArrayHeap.Handle[pending];
+        for (int i = 0; i < pending; i++) {
+            live[i] = heap.insert(new Deadline(delays[i]));
+        }
+        long now = 0;
+        long fired = 0;
+        for (int i = 0; i < OPS; i++) {
+            int victim = victims[i];
+            if (cancels[i]) {
+                heap.remove(live[victim]);
+            }
+            long deadline = now + delays[pending + i];
+            live[victim] = heap.insert(new Deadline(deadline));
+            if (i % OPS_PER_ADVANCE == 0) {
+                now += TICK;
+                Deadline top;
+                while ((top = heap.peek()) != null && top.deadline() <= now) {
+                    heap.poll();
+                    fired++;
+                }
+            }
+        }
+        return fired;
+    }
+
+    private record Deadline(long deadline) {
+    }
+
+}
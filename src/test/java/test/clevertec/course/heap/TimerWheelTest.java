@@ -0,0 +1,161 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.timer.TimerWheel;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    static Stream<Arguments> TimerWheelDataProvider() {
+        return Stream.of(
+                Arguments.of(1L, 1, 100),
+                Arguments.of(1L, 4, 100_000),
+                Arguments.of(10L, 2, 100_000),
+                Arguments.of(7L, 1, 10_000_000),
+                Arguments.of(1000L, 3, 1_000_000_000));
+    }
+
+    @ParameterizedTest
+    @MethodSource("TimerWheelDataProvider")
+    void givenRandomTimersAndCancels_whenAdvance_thenEachFiresWithinOneTickOfDeadline(long tickDuration, int levels,
+                                                                                     int maxDelay) {
+        Random random = new Random(levels * 31L + maxDelay);
+        long start = -12345;
+        TimerWheel<long[]> wheel = new TimerWheel<>(start, tickDuration, levels);
+        List<TimerWheel.Timeout<long[]>> pending = new ArrayList<>();
+        Set<long[]> expired = Collections.newSetFromMap(new IdentityHashMap<>());
+        long now = start;
+        int fired = 0;
+        int scheduled = 0;
+        int cancelled = 0;
+        for (int round = 0; round < 2000; round++) {
+            for (int i = random.nextInt(10); i > 0; i--) {
+                long deadline = now + random.nextInt(maxDelay) - maxDelay / 100;
+                pending.add(wheel.schedule(new long[]{deadline, now}, deadline));
+                scheduled++;
+            }
+            if (!pending.isEmpty() && random.nextInt(3) == 0) {
+                TimerWheel.Timeout<long[]> timeout = pending.remove(random.nextInt(pending.size()));
+                boolean wasPending = timeout.state() == TimerWheel.State.PENDING;
+                assertEquals(wasPending, wheel.cancel(timeout));
+                cancelled += wasPending ? 1 : 0;
+                assertEquals(wasPending ? TimerWheel.State.CANCELLED : TimerWheel.State.EXPIRED, timeout.state());
+            }
+            long previous = now;
+            now += random.nextInt(maxDelay / 50 + 1);
+            long current = now;
+            fired += wheel.advanceTo(now, payload -> {
+                assertTrue(expired.add(payload), "fired twice");
+                assertTrue(payload[0] <= current, "fired early");
+                assertTrue(payload[1] == previous || payload[0] > previous - tickDuration, "fired late");
+            });
+        }
+        long end = now + (long) maxDelay * 2;
+        fired += wheel.advanceTo(end, payload -> assertTrue(expired.add(payload), "fired twice"));
+        assertEquals(0, wheel.size());
+        assertTrue(pending.stream().allMatch(t -> t.state() == TimerWheel.State.EXPIRED));
+        assertEquals(expired.size(), fired);
+        assertEquals(scheduled - cancelled, fired);
+    }
+
+    @Test
+    void givenTimersSpanningLevels_whenAdvance_thenFireInDeadlineOrder() {
+        TimerWheel<Long> wheel = new TimerWheel<>(0, 1, 2);
+        long[] deadlines = {70_000, 3, 256, 255, 65_536, 1_000_000, 257, 65_535, 4_000_000_000L, 1};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+        List<Long> fired = new ArrayList<>();
+        assertEquals(deadlines.length, wheel.advanceTo(Long.MAX_VALUE / 2, fired::add));
+        long[] sorted = deadlines.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, fired.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @Test
+    void givenCancelledTimers_whenAdvance_thenOnlyLiveTimersFire() {
+        TimerWheel<String> wheel = new TimerWheel<>(0, 10, 1);
+        TimerWheel.Timeout<String> near = wheel.schedule("near", 50);
+        TimerWheel.Timeout<String> far = wheel.schedule("far", 100_000);
+        TimerWheel.Timeout<String> due = wheel.schedule("due", -5);
+        wheel.schedule("kept", 60);
+        assertEquals(4, wheel.size());
+        assertTrue(wheel.cancel(near));
+        assertTrue(wheel.cancel(far));
+        assertTrue(wheel.cancel(due));
+        assertFalse(wheel.cancel(far));
+        assertEquals(1, wheel.size());
+        List<String> fired = new ArrayList<>();
+        assertEquals(1, wheel.advanceTo(1_000_000, fired::add));
+        assertEquals(List.of("kept"), fired);
+        assertEquals(1_000_000, wheel.currentTime());
+    }
+
+    @Test
+    void givenDeadlineInsideTick_whenAdvance_thenNeverFireEarly() {
+        TimerWheel<String> wheel = new TimerWheel<>(0, 10);
+        wheel.schedule("t", 15);
+        List<String> fired = new ArrayList<>();
+        assertEquals(0, wheel.advanceTo(19, fired::add));
+        assertEquals(1, wheel.advanceTo(20, fired::add));
+        assertEquals(List.of("t"), fired);
+    }
+
+    @Test
+    void givenCallbackCancelsAndReschedules_whenAdvance_thenWheelStaysConsistent() {
+        TimerWheel<String> wheel = new TimerWheel<>(0, 1);
+        List<String> fired = new ArrayList<>();
+        TimerWheel.Timeout<String> victim = wheel.schedule("victim", 10);
+        wheel.schedule("first", 10);
+        wheel.schedule("again", 5);
+        int count = wheel.advanceTo(10, payload -> {
+            fired.add(payload);
+            if (payload.equals("first")) {
+                wheel.cancel(victim);
+            } else if (payload.equals("again")) {
+                wheel.schedule("rescheduled", 8);
+                wheel.schedule("immediate", 1);
+            }
+        });
+        assertEquals(List.of("again", "rescheduled", "first"), fired);
+        assertEquals(TimerWheel.State.CANCELLED, victim.state());
+        assertEquals(fired.size(), count);
+        assertEquals(1, wheel.size());
+        assertEquals(1, wheel.advanceTo(10, fired::add));
+        assertEquals("immediate", fired.get(fired.size() - 1));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void givenTimeoutOfOtherWheel_whenCancel_thenFalseAndBothWheelsFire() {
+        TimerWheel<String> first = new TimerWheel<>(0, 1);
+        TimerWheel<String> second = new TimerWheel<>(0, 1);
+        TimerWheel.Timeout<String> foreign = first.schedule("a", 10);
+        second.schedule("b", 10);
+
+        assertFalse(second.cancel(foreign));
+        assertEquals(TimerWheel.State.PENDING, foreign.state());
+        assertEquals(1, second.size());
+
+        List<String> fired = new ArrayList<>();
+        assertEquals(1, first.advanceTo(10, fired::add));
+        assertEquals(1, second.advanceTo(10, fired::add));
+        assertEquals(List.of("a", "b"), fired);
+    }
+
+    @Test
+    void givenIllegalArguments_whenCreateOrSchedule_thenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<>(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<>(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<>(0, 1, 8));
+        assertThrows(NullPointerException.class, () -> new TimerWheel<>(0, 1).schedule(null, 1));
+    }
+
+}
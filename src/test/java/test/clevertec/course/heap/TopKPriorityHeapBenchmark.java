@@ -0,0 +1,62 @@
+package test.clevertec.course.heap;
+
+import org.openjdk.jmh.annotations.*;
+import ru.clevertec.course.heap.impl.PriorityArrayHeap;
+import ru.clevertec.course.heap.impl.TopKPriorityHeap;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-k selection over a million scores. Add {@code -p k=10,1000} for a large k.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 1)
+public class TopKPriorityHeapBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"10"})
+    private int k;
+
+    private Double[] scores;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(size);
+        scores = new Double[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public List<Double> topKHeap() {
+        TopKPriorityHeap<Double> heap = new TopKPriorityHeap<>(k);
+        for (Double score : scores) {
+            heap.add(score);
+        }
+        return heap.sortedResult();
+    }
+
+    @Benchmark
+    public Double peekPollAdd() {
+        PriorityArrayHeap<Double> heap = new PriorityArrayHeap<>(k);
+        for (Double score : scores) {
+            if (heap.size() < k) {
+                heap.add(score);
+            } else if (score > heap.peek()) {
+                heap.poll();
+                heap.add(score);
+            }
+        }
+        return heap.peek();
+    }
+
+}
@@ -0,0 +1,98 @@
+package test.clevertec.course.heap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.course.heap.impl.TopKPriorityHeap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKPriorityHeapTest {
+
+    @ParameterizedTest
+    @MethodSource("CapacityAndComparatorDataProvider")
+    void givenStream_whenSortedResult_thenKGreatestDescending(int k, Comparator<Integer> comparator) {
+        Random random = new Random(k);
+        TopKPriorityHeap<Integer> priorityHeap = new TopKPriorityHeap<>(k, comparator);
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(5000);
+            priorityHeap.add(value);
+            all.add(value);
+        }
+        Comparator<Integer> order = comparator == null ? Comparator.naturalOrder() : comparator;
+        all.sort(order.reversed());
+        List<Integer> expected = all.subList(0, Math.min(k, all.size()));
+
+        assertEquals(expected, priorityHeap.sortedResult());
+        assertEquals(expected.get(expected.size() - 1), priorityHeap.peek());
+    }
+
+    static Stream<Arguments> CapacityAndComparatorDataProvider() {
+        return Stream.of(
+                Arguments.of(1, Comparator.naturalOrder()),
+                Arguments.of(10, Comparator.reverseOrder()),
+                Arguments.of(1000, null),
+                Arguments.of(20_000, null));
+    }
+
+    @Test
+    void givenFullHeap_whenAddWorseOrBetter_thenRejectOrEvictRoot() {
+        TopKPriorityHeap<Integer> priorityHeap = new TopKPriorityHeap<>(3);
+        assertTrue(priorityHeap.add(5));
+        assertTrue(priorityHeap.add(7));
+        assertTrue(priorityHeap.add(6));
+
+        assertFalse(priorityHeap.add(5));
+        assertFalse(priorityHeap.add(1));
+        assertTrue(priorityHeap.add(9));
+
+        assertEquals(3, priorityHeap.size());
+        assertEquals(6, priorityHeap.peek());
+    }
+
+    @Test
+    void givenSortedResult_whenMutateAfterwards_thenHeapOrderRestored() {
+        TopKPriorityHeap<Integer> priorityHeap = new TopKPriorityHeap<>(4);
+        List.of(4, 2, 8, 6, 1).forEach(priorityHeap::add);
+        assertThat(priorityHeap.sortedResult()).containsExactly(8, 6, 4, 2);
+
+        priorityHeap.add(5);
+
+        List<Integer> polled = new ArrayList<>();
+        priorityHeap.poll(Integer.MAX_VALUE, polled);
+        assertEquals(List.of(4, 5, 6, 8), polled);
+        assertNull(priorityHeap.poll());
+    }
+
+    @Test
+    void givenFullHeap_whenPushPopOrReplaceTop_thenKeepSize() {
+        TopKPriorityHeap<Integer> priorityHeap = new TopKPriorityHeap<>(2);
+        priorityHeap.add(10);
+        priorityHeap.add(20);
+        assertThat(priorityHeap.sortedResult()).containsExactly(20, 10);
+
+        assertEquals(1, priorityHeap.pushPop(1));
+        assertEquals(2, priorityHeap.size());
+        assertEquals(10, priorityHeap.pushPop(15));
+        assertEquals(2, priorityHeap.size());
+        assertEquals(15, priorityHeap.replaceTop(1));
+        assertEquals(2, priorityHeap.size());
+        assertThat(priorityHeap.sortedResult()).containsExactly(20, 1);
+    }
+
+    @Test
+    void givenInvalidCapacityOrNull_whenCreateOrAdd_thenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TopKPriorityHeap<Integer>(0));
+        assertThrows(NullPointerException.class, () -> new TopKPriorityHeap<Integer>(1).add(null));
+    }
+
+}
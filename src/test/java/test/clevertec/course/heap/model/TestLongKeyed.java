@@ -0,0 +1,7 @@
+package test.clevertec.course.heap.model;
+
+import java.util.Comparator;
+
+public record TestLongKeyed(long key, String payload) {
+    public static final Comparator<TestLongKeyed> BY_KEY = Comparator.comparingLong(TestLongKeyed::key);
+}